@@ -0,0 +1,178 @@
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Prepares the engines and renderers measured by the benchmarks in the {@code benchmarks} package.
+ * </p>
+ * <p>
+ * JMH does not accept benchmarks in the default package, while the game lives in it and cannot be imported from
+ * any other package. The benchmarks therefore look this class up by name once per trial, and get back fixtures
+ * implementing plain {@code java.*} interfaces, so the measured code runs without any reflection.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class BenchmarkFixtures {
+    /**
+     * Seed of the random pattern, the same for every benchmark, so the runs are comparable.
+     */
+    private static final long SEED = 42;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates an engine seeded with a pattern, ticking on every {@link Runnable#run()}.
+     *
+     * @param engine  name of the engine, one of {@link TickEngines#NAMES}.
+     * @param size    number of rows and columns of the game board.
+     * @param pattern name of the pattern, {@code empty} or one accepted by {@link Patterns#forName(String)}.
+     * @return ticking fixture, to be closed once it is no longer used.
+     */
+    public static Ticker ticker(String engine, int size, String pattern) {
+        TickEngine tickEngine = TickEngines.create(engine, size, size, Topology.DEAD,
+                Runtime.getRuntime().availableProcessors());
+        seed(tickEngine, pattern);
+        return new Ticker(tickEngine);
+    }
+
+    /**
+     * Creates a renderer of two consecutive generations of a pattern. Every {@link Runnable#run()} draws
+     * the first generation from scratch, and every {@link Supplier#get()} draws the other generation on top of
+     * the one drawn last, which changes the same cells back and forth.
+     *
+     * @param renderer {@code canvas} for {@link BoardRenderer}, {@code grid} for
+     *                 {@link CellGrid#build(int[][])}.
+     * @param size     number of rows and columns of the game board.
+     * @param pattern  name of the pattern, {@code empty} or one accepted by {@link Patterns#forName(String)}.
+     * @return rendering fixture.
+     */
+    public static RenderFixture renderer(String renderer, int size, String pattern) {
+        //CellGrid.build draws GameOfLife.BOARD_SIZE cells, which is read when GameOfLife gets loaded
+        System.setProperty("gameoflife.boardSize", Integer.toString(size));
+        startToolkit();
+        BitTickEngine engine = new BitTickEngine(size, size);
+        seed(engine, pattern);
+        BitBoard before = new BitBoard(size, size);
+        before.copyFrom(engine.getBoard());
+        engine.tick();
+        BitBoard after = new BitBoard(size, size);
+        after.copyFrom(engine.getBoard());
+        switch (renderer) {
+            case "canvas":
+                return new CanvasFixture(before, after);
+            case "grid":
+                return new GridFixture(after);
+            default:
+                throw new IllegalArgumentException(renderer + " not allowed");
+        }
+    }
+
+    /**
+     * Seeds the engine with a pattern.
+     *
+     * @param engine  target engine.
+     * @param pattern name of the pattern, {@code empty} or one accepted by {@link Patterns#forName(String)}.
+     */
+    private static void seed(TickEngine engine, String pattern) {
+        if ("empty".equals(pattern)) {
+            engine.clear();
+        } else {
+            Patterns.seed(Patterns.forName(pattern), engine, new Random(SEED));
+        }
+    }
+
+    /**
+     * Starts the JavaFX toolkit, which the canvas needs, if a display is available.
+     */
+    private static void startToolkit() {
+        try {
+            new javafx.embed.swing.JFXPanel();
+        } catch (RuntimeException | LinkageError e) {
+            //Headless environment, nodes can still be created without the toolkit
+        }
+    }
+
+    /**
+     * Fixture ticking an engine.
+     */
+    public static final class Ticker implements Runnable, AutoCloseable {
+        private final TickEngine engine;
+
+        private Ticker(TickEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public void run() {
+            engine.tick();
+        }
+
+        @Override
+        public void close() {
+            if (engine instanceof ParallelTickEngine) {
+                ((ParallelTickEngine) engine).close();
+            }
+        }
+    }
+
+    /**
+     * Fixture drawing two consecutive generations.
+     */
+    public abstract static class RenderFixture implements Runnable, Supplier<Object> {
+    }
+
+    /**
+     * Draws the generations onto {@link BoardRenderer}. Drawing the first generation from scratch also discards
+     * the drawing commands the canvas buffered so far.
+     */
+    private static final class CanvasFixture extends RenderFixture {
+        private final BitBoard before;
+        private final BitBoard after;
+        private final BoardRenderer renderer;
+        private boolean afterDrawn;
+
+        private CanvasFixture(BitBoard before, BitBoard after) {
+            this.before = before;
+            this.after = after;
+            this.renderer = new BoardRenderer(before.getRows(), before.getColumns());
+        }
+
+        @Override
+        public void run() {
+            renderer.invalidate();
+            renderer.render(before);
+            afterDrawn = false;
+        }
+
+        @Override
+        public Object get() {
+            renderer.render(afterDrawn ? before : after);
+            afterDrawn = !afterDrawn;
+            return renderer;
+        }
+    }
+
+    /**
+     * Builds a new {@link javafx.scene.layout.GridPane} of {@link Cell}s, the way the game rendered
+     * every generation originally.
+     */
+    private static final class GridFixture extends RenderFixture {
+        private final int[][] after;
+
+        private GridFixture(BitBoard after) {
+            this.after = new int[after.getRows()][after.getColumns()];
+            after.copyTo(this.after);
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public Object get() {
+            return CellGrid.build(after);
+        }
+    }
+}
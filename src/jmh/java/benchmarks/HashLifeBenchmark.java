@@ -0,0 +1,56 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * Measures the throughput of ticks of the {@code hashlife} engine on the sparse patterns it is meant for, up to
+ * boards too large for the engines computing every cell.
+ * </p>
+ * <p>
+ * A random pattern gives the engine nothing to share between the quadtree nodes, a random 4096 board does not
+ * even fit into a few gigabytes, so it is left out. The board is seeded again before every iteration, the same
+ * way as by {@link TickBenchmark}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+@State(Scope.Benchmark)
+public class HashLifeBenchmark {
+    @Param({"50", "512", "4096", "16384"})
+    public int size;
+
+    @Param({"empty", "queenbee", "tumbler"})
+    public String pattern;
+
+    private Method factory;
+    private Runnable ticker;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        factory = Class.forName("BenchmarkFixtures").getMethod("ticker", String.class, int.class, String.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() throws ReflectiveOperationException {
+        ticker = (Runnable) factory.invoke(null, "hashlife", size, pattern);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        ((AutoCloseable) ticker).close();
+    }
+
+    @Benchmark
+    public void tick() {
+        ticker.run();
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Measures drawing a single generation on top of the previous one, with the persistent canvas of
+ * {@code BoardRenderer} against building a new {@code GridPane} of {@code Cell}s by {@code CellGrid.build}.
+ * </p>
+ * <p>
+ * The canvas buffers its drawing commands until the next pulse, which never comes without a shown stage, so
+ * the previous generation is drawn from scratch before every iteration, which also discards the buffered commands.
+ * Every iteration is then a batch of {@link #BATCH} draws, each of the other generation on top of the one drawn
+ * last, so the score is the time of the whole batch, and the buffer stays bounded by the batch.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(batchSize = RenderBenchmark.BATCH)
+@Measurement(batchSize = RenderBenchmark.BATCH)
+public class RenderBenchmark {
+    /**
+     * Number of draws measured together in a single iteration.
+     */
+    static final int BATCH = 100;
+
+    @Param({"canvas", "grid"})
+    public String renderer;
+
+    @Param({"50", "512"})
+    public int size;
+
+    @Param({"empty", "random", "queenbee", "tumbler"})
+    public String pattern;
+
+    private Runnable previousGeneration;
+    private Supplier<?> nextGeneration;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        Object fixture = Class.forName("BenchmarkFixtures")
+                .getMethod("renderer", String.class, int.class, String.class)
+                .invoke(null, renderer, size, pattern);
+        previousGeneration = (Runnable) fixture;
+        nextGeneration = (Supplier<?>) fixture;
+    }
+
+    @Setup(Level.Iteration)
+    public void drawPreviousGeneration() {
+        previousGeneration.run();
+    }
+
+    @Benchmark
+    public Object render() {
+        return nextGeneration.get();
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * Measures the throughput of ticks of the engines computing every cell across board sizes and patterns.
+ * </p>
+ * <p>
+ * The board is seeded again before every iteration, so every iteration measures the same generations instead of
+ * a board dying out over the trial. The {@code array} engine allocates a new board every tick, a 16384 board would
+ * take a gigabyte per tick, so larger boards of the other engines are run on request, e.g.
+ * {@code java -jar build/libs/*-jmh.jar TickBenchmark -p size=16384 -p engine=bit,parallel,vector}.
+ * {@code hashlife} is measured by {@link HashLifeBenchmark}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+@State(Scope.Benchmark)
+public class TickBenchmark {
+    @Param({"array", "bit", "parallel", "incremental", "lookup", "vector"})
+    public String engine;
+
+    @Param({"50", "512", "4096"})
+    public int size;
+
+    @Param({"empty", "random", "queenbee", "tumbler"})
+    public String pattern;
+
+    private Method factory;
+    private Runnable ticker;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        factory = Class.forName("BenchmarkFixtures").getMethod("ticker", String.class, int.class, String.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() throws ReflectiveOperationException {
+        ticker = (Runnable) factory.invoke(null, engine, size, pattern);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        ((AutoCloseable) ticker).close();
+    }
+
+    @Benchmark
+    public void tick() {
+        ticker.run();
+    }
+}
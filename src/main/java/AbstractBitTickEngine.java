@@ -0,0 +1,143 @@
+/**
+ * <p>
+ * Base class of the {@link TickEngine}s working on bit-packed game boards represented by {@link BitBoard}.
+ * </p>
+ * <p>
+ * It holds two preallocated boards, one with the current generation and one the next generation is written to,
+ * which are swapped after every tick, so no memory is allocated while ticking. Subclasses decide only how
+ * the next generation gets computed.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public abstract class AbstractBitTickEngine implements TickEngine {
+    /**
+     * What lies beyond the edges of the game board.
+     */
+    protected final Topology topology;
+    private BitBoard current;
+    private BitBoard next;
+    private long generation;
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s.
+     *
+     * @param rows     number of rows of the game board.
+     * @param columns  number of columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     */
+    protected AbstractBitTickEngine(int rows, int columns, Topology topology) {
+        this.topology = topology;
+        this.current = new BitBoard(rows, columns);
+        this.next = new BitBoard(rows, columns);
+    }
+
+    /**
+     * Computes the next generation of the {@code src} game board and stores it in the {@code dst} game board.
+     *
+     * @param src game board of the current generation, which must not be modified.
+     * @param dst game board of the next generation, of the same dimensions as {@code src}.
+     */
+    protected abstract void computeGeneration(BitBoard src, BitBoard dst);
+
+    /**
+     * Called whenever the game board was modified other way than by a tick. Does nothing by default.
+     */
+    protected void boardModified() {
+    }
+
+    @Override
+    public int getRows() {
+        return current.getRows();
+    }
+
+    @Override
+    public int getColumns() {
+        return current.getColumns();
+    }
+
+    @Override
+    public int getState(int row, int col) {
+        return current.get(row, col);
+    }
+
+    @Override
+    public void setState(int row, int col, int state) {
+        current.set(row, col, state);
+        boardModified();
+    }
+
+    @Override
+    public void setAlive(int row, int fromCol, int toCol) {
+        current.setAlive(row, fromCol, toCol);
+        boardModified();
+    }
+
+    @Override
+    public void tick() {
+        computeGeneration(current, next);
+        BitBoard swap = current;
+        current = next;
+        next = swap;
+        generation++;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void clear() {
+        current.clear();
+        generation = 0;
+        boardModified();
+    }
+
+    @Override
+    public long getPopulation() {
+        return current.population();
+    }
+
+    @Override
+    public void load(int[][] board) {
+        current.load(board);
+        generation = 0;
+        boardModified();
+    }
+
+    /**
+     * Replaces the current state of the game board with the given game board and sets the generation counter.
+     * The board returned by {@link #getBoard()} may be given too, after it was filled in place.
+     *
+     * @param board      game board of the same dimensions.
+     * @param generation number of the generation of the given game board.
+     */
+    @Override
+    public void load(BitBoard board, long generation) {
+        if (board != current) {
+            current.copyFrom(board);
+        }
+        this.generation = generation;
+        boardModified();
+    }
+
+    @Override
+    public void copyTo(int[][] board) {
+        current.copyTo(board);
+    }
+
+    @Override
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Returns the game board holding the current generation. It must not be modified by the caller.
+     *
+     * @return game board of the current generation.
+     */
+    public BitBoard getBoard() {
+        return current;
+    }
+}
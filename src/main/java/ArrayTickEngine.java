@@ -0,0 +1,102 @@
+/**
+ * <p>
+ * {@link TickEngine} backed by the original {@code int[][]} representation of a game board.
+ * </p>
+ * <p>
+ * Every tick is delegated to {@link Tick#getValuesAfterTick(int[][], Topology, Rule)}, so this engine serves
+ * as the reference implementation the other engines are compared against.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class ArrayTickEngine implements TickEngine {
+    private final Topology topology;
+    private final Rule rule;
+    private int[][] board;
+    private long generation;
+
+    /**
+     * Creates an engine with a square game board of dead {@link Cell}s, surrounded by dead cells.
+     *
+     * @param size number of rows and columns of the game board.
+     */
+    public ArrayTickEngine(int size) {
+        this(size, Topology.DEAD);
+    }
+
+    /**
+     * Creates an engine with a square game board of dead {@link Cell}s.
+     *
+     * @param size     number of rows and columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     */
+    public ArrayTickEngine(int size, Topology topology) {
+        this(size, topology, Rule.CONWAY);
+    }
+
+    /**
+     * Creates an engine with a square game board of dead {@link Cell}s following any Life-like rule.
+     *
+     * @param size     number of rows and columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     * @param rule     rule of the automaton.
+     */
+    public ArrayTickEngine(int size, Topology topology, Rule rule) {
+        this.topology = topology;
+        this.rule = rule;
+        this.board = new int[size][size];
+    }
+
+    @Override
+    public int getRows() {
+        return board.length;
+    }
+
+    @Override
+    public int getColumns() {
+        return board.length;
+    }
+
+    @Override
+    public int getState(int row, int col) {
+        return board[row][col];
+    }
+
+    @Override
+    public void setState(int row, int col, int state) {
+        board[row][col] = state;
+    }
+
+    @Override
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public Topology getTopology() {
+        return topology;
+    }
+
+    @Override
+    public void tick() {
+        board = Tick.getValuesAfterTick(board, topology, rule);
+        generation++;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void clear() {
+        board = new int[board.length][board.length];
+        generation = 0;
+    }
+
+    @Override
+    public void load(BitBoard board, long generation) {
+        board.copyTo(this.board);
+        this.generation = generation;
+    }
+}
@@ -0,0 +1,310 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Bit-packed representation of a game board. Each {@link Cell} takes a single bit, so one {@code long} word
+ * holds 64 consecutive cells of a row.
+ * </p>
+ * <p>
+ * Every row starts at a new word. Column {@code col} of a row is stored in the word {@code col / 64}
+ * of that row at the bit {@code col % 64}, the bits past the last column of a row are always {@code 0}.
+ * </p>
+ * <p>
+ * The words are kept either in a {@code long[]} on the heap, or off-heap in direct buffers of
+ * {@value #CHUNK_WORDS} words each, so a huge board needs neither a huge heap nor adds to the work of the garbage
+ * collector. Boards of more than {@link #OFF_HEAP_THRESHOLD} cells are kept off-heap unless chosen otherwise.
+ * Both kinds of storage are read and written in place by the engines, only the heap one can be handed over
+ * to kernels as an array by {@link #getWords()}. The off-heap boards are limited by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximal heap size.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class BitBoard {
+    /**
+     * Number of cells above which a board is kept off-heap by default, set by the system property
+     * {@code gameoflife.offHeapThreshold}, {@code 2^30} cells, i.e. 128 MiB of words, if not set.
+     */
+    public static final long OFF_HEAP_THRESHOLD = Long.getLong("gameoflife.offHeapThreshold", 1L << 30);
+
+    private static final int CHUNK_BITS = 24;
+    private static final int CHUNK_WORDS = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_WORDS - 1;
+
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final int length;
+    private final long[] words;
+    private final LongBuffer[] chunks;
+
+    /**
+     * Creates a game board of dead {@link Cell}s, kept off-heap if it has more than {@link #OFF_HEAP_THRESHOLD}
+     * cells.
+     *
+     * @param rows    number of rows.
+     * @param columns number of columns.
+     * @throws IllegalArgumentException if any of the dimensions is not positive, or the board is too large.
+     */
+    public BitBoard(int rows, int columns) {
+        this(rows, columns, (long) rows * columns > OFF_HEAP_THRESHOLD);
+    }
+
+    /**
+     * Creates a game board of dead {@link Cell}s.
+     *
+     * @param rows    number of rows.
+     * @param columns number of columns.
+     * @param offHeap {@code true} to keep the cells in direct buffers outside of the heap.
+     * @throws IllegalArgumentException if any of the dimensions is not positive, or the board is too large.
+     */
+    public BitBoard(int rows, int columns, boolean offHeap) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException(rows + " x " + columns + " not allowed");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = (columns + 63) >>> 6;
+        this.lastWordMask = -1L >>> (wordsPerRow * 64 - columns);
+        if ((long) rows * wordsPerRow > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(rows + " x " + columns + " not allowed");
+        }
+        this.length = rows * wordsPerRow;
+        if (offHeap) {
+            this.words = null;
+            this.chunks = new LongBuffer[(length + CHUNK_MASK) >>> CHUNK_BITS];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                int size = Math.min(CHUNK_WORDS, length - (chunk << CHUNK_BITS));
+                chunks[chunk] = ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder())
+                        .asLongBuffer();
+            }
+        } else {
+            this.words = new long[length];
+            this.chunks = null;
+        }
+    }
+
+    /**
+     * Returns the number of rows of the game board.
+     *
+     * @return number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the game board.
+     *
+     * @return number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of {@code long} words a single row is packed into.
+     *
+     * @return number of words per row.
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Returns the mask of bits of the last word of a row which belong to the game board.
+     *
+     * @return mask of valid bits of the last word of a row.
+     */
+    long getLastWordMask() {
+        return lastWordMask;
+    }
+
+    /**
+     * Returns the word at the given index, where the words of row {@code row} start at {@code row * wordsPerRow}.
+     *
+     * @param index index of a word.
+     * @return 64 cells packed into a word.
+     */
+    long getWord(int index) {
+        return words != null ? words[index] : chunks[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    /**
+     * Sets the word at the given index, where the words of row {@code row} start at {@code row * wordsPerRow}.
+     *
+     * @param index index of a word.
+     * @param word  64 cells packed into a word.
+     */
+    void setWord(int index, long word) {
+        if (words != null) {
+            words[index] = word;
+        } else {
+            chunks[index >>> CHUNK_BITS].put(index & CHUNK_MASK, word);
+        }
+    }
+
+    /**
+     * Returns whether the cells are kept outside of the heap.
+     *
+     * @return {@code true} if the board is kept in direct buffers.
+     */
+    public boolean isOffHeap() {
+        return words == null;
+    }
+
+    /**
+     * Returns the array of all the words of the game board, for kernels processing several words at once.
+     * The words of row {@code row} start at {@code row * wordsPerRow}.
+     *
+     * @return words of the game board, not a copy, or {@code null} if the board is kept off-heap.
+     */
+    long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Returns the state of a {@link Cell} at the given position.
+     *
+     * @param row row number of a target {@code Cell}.
+     * @param col column number of a target {@code Cell}.
+     * @return state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     */
+    public int get(int row, int col) {
+        return (int) (getWord(row * wordsPerRow + (col >>> 6)) >>> col) & 1;
+    }
+
+    /**
+     * Sets the state of a {@link Cell} at the given position.
+     *
+     * @param row   row number of a target {@code Cell}.
+     * @param col   column number of a target {@code Cell}.
+     * @param state state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     */
+    public void set(int row, int col, int state) {
+        int index = row * wordsPerRow + (col >>> 6);
+        if (state == 1) {
+            setWord(index, getWord(index) | 1L << col);
+        } else {
+            setWord(index, getWord(index) & ~(1L << col));
+        }
+    }
+
+    /**
+     * Makes alive a horizontal run of {@link Cell}s of a single row, a whole word at a time.
+     *
+     * @param row     row number of the run.
+     * @param fromCol column number of the first cell of the run, inclusive.
+     * @param toCol   column number of the last cell of the run, exclusive.
+     */
+    public void setAlive(int row, int fromCol, int toCol) {
+        if (fromCol >= toCol) {
+            return;
+        }
+        int rowStart = row * wordsPerRow;
+        int firstWord = fromCol >>> 6;
+        int lastWord = (toCol - 1) >>> 6;
+        long firstMask = -1L << fromCol;
+        long lastMask = -1L >>> (63 - ((toCol - 1) & 63));
+        if (firstWord == lastWord) {
+            setWord(rowStart + firstWord, getWord(rowStart + firstWord) | firstMask & lastMask);
+            return;
+        }
+        setWord(rowStart + firstWord, getWord(rowStart + firstWord) | firstMask);
+        if (words != null) {
+            Arrays.fill(words, rowStart + firstWord + 1, rowStart + lastWord, -1L);
+        } else {
+            for (int index = rowStart + firstWord + 1; index < rowStart + lastWord; index++) {
+                setWord(index, -1L);
+            }
+        }
+        setWord(rowStart + lastWord, getWord(rowStart + lastWord) | lastMask);
+    }
+
+    /**
+     * Kills every {@link Cell} on the game board.
+     */
+    public void clear() {
+        if (words != null) {
+            Arrays.fill(words, 0L);
+            return;
+        }
+        for (LongBuffer chunk : chunks) {
+            for (int index = 0; index < chunk.capacity(); index++) {
+                chunk.put(index, 0L);
+            }
+        }
+    }
+
+    /**
+     * Replaces the state of this game board with the state of the given one of the same dimensions.
+     *
+     * @param other game board to copy.
+     */
+    public void copyFrom(BitBoard other) {
+        if (words != null && other.words != null) {
+            System.arraycopy(other.words, 0, words, 0, length);
+            return;
+        }
+        for (int chunk = 0; chunk << CHUNK_BITS < length; chunk++) {
+            int offset = chunk << CHUNK_BITS;
+            int size = Math.min(CHUNK_WORDS, length - offset);
+            if (words != null) {
+                other.chunks[chunk].duplicate().get(words, offset, size);
+            } else if (other.words != null) {
+                chunks[chunk].duplicate().put(other.words, offset, size);
+            } else {
+                chunks[chunk].duplicate().put(other.chunks[chunk].duplicate());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of alive {@link Cell}s on the game board.
+     *
+     * @return number of alive cells.
+     */
+    public long population() {
+        long population = 0;
+        for (int index = 0; index < length; index++) {
+            population += Long.bitCount(getWord(index));
+        }
+        return population;
+    }
+
+    /**
+     * Replaces the state of the game board with the given 2D array.
+     *
+     * @param board 2D array representing state of each {@code Cell} on a game board.
+     */
+    public void load(int[][] board) {
+        for (int row = 0; row < rows; row++) {
+            for (int word = 0; word < wordsPerRow; word++) {
+                long packed = 0;
+                int firstCol = word << 6;
+                int lastCol = Math.min(firstCol + 64, columns);
+                for (int col = firstCol; col < lastCol; col++) {
+                    packed |= (long) (board[row][col] & 1) << col;
+                }
+                setWord(row * wordsPerRow + word, packed);
+            }
+        }
+    }
+
+    /**
+     * Copies the state of the game board into the given 2D array.
+     *
+     * @param board 2D array of at least {@link #getRows()} x {@link #getColumns()} size.
+     */
+    public void copyTo(int[][] board) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                board[row][col] = get(row, col);
+            }
+        }
+    }
+}
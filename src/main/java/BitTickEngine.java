@@ -0,0 +1,301 @@
+/**
+ * <p>
+ * {@link TickEngine} working on bit-packed game boards represented by {@link BitBoard}.
+ * </p>
+ * <p>
+ * The rules of the "Game Of Life" are applied to 64 {@link Cell}s at once. The eight neighbours of every cell
+ * of a word are lined up by shifting the words of the row above, the same row and the row below, and summed up
+ * in parallel by a tree of bitwise full adders. The whole game board is computed on the calling thread.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class BitTickEngine extends AbstractBitTickEngine {
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s, surrounded by dead cells.
+     *
+     * @param rows    number of rows of the game board.
+     * @param columns number of columns of the game board.
+     */
+    public BitTickEngine(int rows, int columns) {
+        this(rows, columns, Topology.DEAD);
+    }
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s.
+     *
+     * @param rows     number of rows of the game board.
+     * @param columns  number of columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     */
+    public BitTickEngine(int rows, int columns, Topology topology) {
+        super(rows, columns, topology);
+    }
+
+    @Override
+    protected void computeGeneration(BitBoard src, BitBoard dst) {
+        computeRows(src, dst, topology, 0, src.getRows());
+    }
+
+    /**
+     * Computes the rows {@code [fromRow, toRow)} of the next generation of the {@code src} game board and stores
+     * them in the {@code dst} game board. The {@code src} board is only read, so distinct row ranges may be
+     * computed concurrently.
+     *
+     * @param src      game board of the current generation.
+     * @param dst      game board of the next generation, of the same dimensions as {@code src}.
+     * @param topology what lies beyond the edges of the game board.
+     * @param fromRow  first row to compute, inclusive.
+     * @param toRow    last row to compute, exclusive.
+     */
+    static void computeRows(BitBoard src, BitBoard dst, Topology topology, int fromRow, int toRow) {
+        int rows = src.getRows();
+        int words = src.getWordsPerRow();
+        int lastBit = (src.getColumns() - 1) & 63;
+        long lastWordMask = src.getLastWordMask();
+        boolean toroidal = topology == Topology.TOROIDAL;
+        for (int row = fromRow; row < toRow; row++) {
+            int current = row * words;
+            int above = rowStart(row - 1, rows, words, toroidal);
+            int below = rowStart(row + 1, rows, words, toroidal);
+
+            //On a torus the last column precedes the first word and the first column follows the last word
+            long abovePrev = toroidal ? lastColumn(src, above, words, lastBit) << 63 : 0;
+            long currentPrev = toroidal ? lastColumn(src, current, words, lastBit) << 63 : 0;
+            long belowPrev = toroidal ? lastColumn(src, below, words, lastBit) << 63 : 0;
+            long aboveWrap = toroidal ? firstColumn(src, above) << lastBit : 0;
+            long currentWrap = toroidal ? firstColumn(src, current) << lastBit : 0;
+            long belowWrap = toroidal ? firstColumn(src, below) << lastBit : 0;
+
+            long aboveWord = wordAt(src, above, 0);
+            long currentWord = src.getWord(current);
+            long belowWord = wordAt(src, below, 0);
+            for (int word = 0; word < words; word++) {
+                long result;
+                if (word < words - 1) {
+                    long aboveNext = wordAt(src, above, word + 1);
+                    long currentNext = src.getWord(current + word + 1);
+                    long belowNext = wordAt(src, below, word + 1);
+                    result = evolve(
+                            west(aboveWord, abovePrev), aboveWord, east(aboveWord, aboveNext),
+                            west(currentWord, currentPrev), currentWord, east(currentWord, currentNext),
+                            west(belowWord, belowPrev), belowWord, east(belowWord, belowNext)
+                    );
+                    abovePrev = aboveWord;
+                    currentPrev = currentWord;
+                    belowPrev = belowWord;
+                    aboveWord = aboveNext;
+                    currentWord = currentNext;
+                    belowWord = belowNext;
+                } else {
+                    result = evolve(
+                            west(aboveWord, abovePrev), aboveWord, (aboveWord >>> 1) | aboveWrap,
+                            west(currentWord, currentPrev), currentWord, (currentWord >>> 1) | currentWrap,
+                            west(belowWord, belowPrev), belowWord, (belowWord >>> 1) | belowWrap
+                    ) & lastWordMask;
+                }
+                dst.setWord(current + word, result);
+            }
+        }
+    }
+
+    /**
+     * Computes a single word of the next generation of the {@code src} game board. It is slower per word than
+     * {@link #computeRows(BitBoard, BitBoard, Topology, int, int)}, but lets the callers pick the words to compute.
+     *
+     * @param src      game board of the current generation.
+     * @param topology what lies beyond the edges of the game board.
+     * @param row      row number of the word.
+     * @param word     index of the word within the row.
+     * @return 64 cells of the next generation packed into a word.
+     */
+    static long computeWord(BitBoard src, Topology topology, int row, int word) {
+        int rows = src.getRows();
+        int words = src.getWordsPerRow();
+        boolean toroidal = topology == Topology.TOROIDAL;
+        int current = row * words;
+        int above = rowStart(row - 1, rows, words, toroidal);
+        int below = rowStart(row + 1, rows, words, toroidal);
+        long aboveWord = wordAt(src, above, word);
+        long currentWord = src.getWord(current + word);
+        long belowWord = wordAt(src, below, word);
+        long result = evolve(
+                west(aboveWord, previousWord(src, above, word, toroidal)), aboveWord,
+                eastOf(src, above, word, toroidal),
+                west(currentWord, previousWord(src, current, word, toroidal)), currentWord,
+                eastOf(src, current, word, toroidal),
+                west(belowWord, previousWord(src, below, word, toroidal)), belowWord,
+                eastOf(src, below, word, toroidal)
+        );
+        return word == words - 1 ? result & src.getLastWordMask() : result;
+    }
+
+    /**
+     * Returns the word preceding a word of a row, with the last column in the highest bit for the first word
+     * of a row on a torus.
+     *
+     * @param board    target game board.
+     * @param rowStart index of the first word of a row, or {@code -1} for a row outside of the game board.
+     * @param word     index of the word within the row.
+     * @param toroidal whether the edges of the game board wrap around.
+     * @return word whose highest bit precedes the first cell of the word.
+     */
+    private static long previousWord(BitBoard board, int rowStart, int word, boolean toroidal) {
+        if (rowStart < 0) {
+            return 0;
+        } else if (word > 0) {
+            return board.getWord(rowStart + word - 1);
+        } else if (toroidal) {
+            int words = board.getWordsPerRow();
+            return lastColumn(board, rowStart, words, (board.getColumns() - 1) & 63) << 63;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Lines up the eastern neighbours of the cells of a word of a row, wrapping the first column around
+     * to the last one on a torus.
+     *
+     * @param board    target game board.
+     * @param rowStart index of the first word of a row, or {@code -1} for a row outside of the game board.
+     * @param word     index of the word within the row.
+     * @param toroidal whether the edges of the game board wrap around.
+     * @return word with the eastern neighbour of each cell at the cell's position.
+     */
+    private static long eastOf(BitBoard board, int rowStart, int word, boolean toroidal) {
+        if (rowStart < 0) {
+            return 0;
+        }
+        long current = board.getWord(rowStart + word);
+        if (word < board.getWordsPerRow() - 1) {
+            return east(current, board.getWord(rowStart + word + 1));
+        } else if (toroidal) {
+            return (current >>> 1) | (firstColumn(board, rowStart) << ((board.getColumns() - 1) & 63));
+        } else {
+            return current >>> 1;
+        }
+    }
+
+    /**
+     * Returns the index of the first word of a row, resolving rows beyond the edges of the game board.
+     *
+     * @param row      row number, possibly one row beyond the edges.
+     * @param rows     number of rows of the game board.
+     * @param words    number of words per row.
+     * @param toroidal whether the edges of the game board wrap around.
+     * @return index of the first word of the row, or {@code -1} for a row of permanently dead cells.
+     */
+    private static int rowStart(int row, int rows, int words, boolean toroidal) {
+        if (row >= 0 && row < rows) {
+            return row * words;
+        } else if (toroidal) {
+            return ((row + rows) % rows) * words;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the word of a row, or a word of dead cells for a row outside of the game board.
+     *
+     * @param board    target game board.
+     * @param rowStart index of the first word of a row, or {@code -1} for a row outside of the game board.
+     * @param word     index of the word within the row.
+     * @return 64 cells packed into a word.
+     */
+    private static long wordAt(BitBoard board, int rowStart, int word) {
+        return rowStart < 0 ? 0 : board.getWord(rowStart + word);
+    }
+
+    /**
+     * Returns the state of the first {@link Cell} of a row.
+     *
+     * @param board    target game board.
+     * @param rowStart index of the first word of a row.
+     * @return state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     */
+    private static long firstColumn(BitBoard board, int rowStart) {
+        return board.getWord(rowStart) & 1;
+    }
+
+    /**
+     * Returns the state of the last {@link Cell} of a row.
+     *
+     * @param board    target game board.
+     * @param rowStart index of the first word of a row.
+     * @param words    number of words per row.
+     * @param lastBit  bit of the last word holding the last column.
+     * @return state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     */
+    private static long lastColumn(BitBoard board, int rowStart, int words, int lastBit) {
+        return (board.getWord(rowStart + words - 1) >>> lastBit) & 1;
+    }
+
+    /**
+     * Lines up the western neighbours of the cells of a word.
+     *
+     * @param word     target word.
+     * @param previous word preceding the target word in the same row.
+     * @return word with the western neighbour of each cell at the cell's position.
+     */
+    private static long west(long word, long previous) {
+        return (word << 1) | (previous >>> 63);
+    }
+
+    /**
+     * Lines up the eastern neighbours of the cells of a word.
+     *
+     * @param word target word.
+     * @param next word following the target word in the same row.
+     * @return word with the eastern neighbour of each cell at the cell's position.
+     */
+    private static long east(long word, long next) {
+        return (word >>> 1) | (next << 63);
+    }
+
+    /**
+     * Applies the rules of the "Game Of Life" to 64 cells at once, given their states and the states of their
+     * eight neighbours lined up at the same bit positions.
+     *
+     * @param northWest north-western neighbours of the cells.
+     * @param north     northern neighbours of the cells.
+     * @param northEast north-eastern neighbours of the cells.
+     * @param west      western neighbours of the cells.
+     * @param center    current state of the cells.
+     * @param east      eastern neighbours of the cells.
+     * @param southWest south-western neighbours of the cells.
+     * @param south     southern neighbours of the cells.
+     * @param southEast south-eastern neighbours of the cells.
+     * @return next state of the 64 cells.
+     */
+    static long evolve(long northWest, long north, long northEast,
+                       long west, long center, long east,
+                       long southWest, long south, long southEast) {
+        //Row above - full adder giving the sum of 3 neighbours on 2 bits
+        long aboveXor = northWest ^ north;
+        long above0 = aboveXor ^ northEast;
+        long above1 = (northWest & north) | (aboveXor & northEast);
+        //Same row - half adder giving the sum of 2 neighbours on 2 bits
+        long middle0 = west ^ east;
+        long middle1 = west & east;
+        //Row below - full adder giving the sum of 3 neighbours on 2 bits
+        long belowXor = southWest ^ south;
+        long below0 = belowXor ^ southEast;
+        long below1 = (southWest & south) | (belowXor & southEast);
+
+        //Ones of the total sum and the carry to the twos
+        long onesXor = above0 ^ middle0;
+        long ones = onesXor ^ below0;
+        long onesCarry = (above0 & middle0) | (onesXor & below0);
+        //Twos of the total sum and the overflow meaning 4 or more neighbours
+        long twosXor = above1 ^ middle1;
+        long twosSum = twosXor ^ below1;
+        long twosCarry = (above1 & middle1) | (twosXor & below1);
+        long twos = twosSum ^ onesCarry;
+        long fourOrMore = twosCarry | (twosSum & onesCarry);
+
+        //Alive with 2 or 3 neighbours, or dead with exactly 3 neighbours
+        return twos & ~fourOrMore & (ones | center);
+    }
+}
@@ -0,0 +1,176 @@
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * <p>
+ * Draws a game board onto a single persistent {@link Canvas}, replacing the {@link javafx.scene.layout.GridPane}
+ * of {@link Cell} nodes built by {@link CellGrid#build(int[][])}.
+ * </p>
+ * <p>
+ * The renderer remembers the board it has drawn last, so after the first frame only the {@code Cell}s which
+ * changed their state are painted again. If a {@link Generation} of an engine implementing {@link ChangeTracking}
+ * follows right after the one drawn last, even the comparison is limited to the tiles which changed in between,
+ * as reported by the generation. The look is the same as the one of {@code Cell}s, 15 x 15 pixels squares with
+ * black border, red for an alive cell and white for a dead cell.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class BoardRenderer {
+    /**
+     * Width and height of a single {@link Cell} in pixels.
+     */
+    public static final int CELL_SIZE = 15;
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final BitBoard shown;
+    private boolean drawn;
+    private long renderedSequence = -1;
+
+    /**
+     * Creates a renderer with a canvas large enough for a game board of given dimensions.
+     *
+     * @param rows    number of rows of the game board.
+     * @param columns number of columns of the game board.
+     */
+    public BoardRenderer(int rows, int columns) {
+        this.canvas = new Canvas(columns * CELL_SIZE, rows * CELL_SIZE);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.shown = new BitBoard(rows, columns);
+    }
+
+    /**
+     * Returns the canvas the game board is drawn onto, to be placed in a scene once.
+     *
+     * @return canvas of the renderer.
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Draws a generation published by {@link SimulationLoop}, comparing only its changed tiles if it directly
+     * follows the generation drawn last.
+     *
+     * @param generation generation of a game board of the same dimensions as the renderer.
+     */
+    public void render(Generation generation) {
+        if (drawn && generation.hasTileChanges() && generation.getSequence() == renderedSequence + 1) {
+            renderChangedTiles(generation.getBoard(), generation);
+        } else {
+            render(generation.getBoard());
+        }
+        renderedSequence = generation.getSequence();
+    }
+
+    /**
+     * Draws the game board, repainting only the {@link Cell}s which changed since the previous call.
+     *
+     * @param board game board of the same dimensions as the renderer.
+     */
+    public void render(BitBoard board) {
+        if (!drawn) {
+            graphics.setFill(Color.BLACK);
+            graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            graphics.setFill(Color.WHITE);
+            for (int row = 0; row < shown.getRows(); row++) {
+                for (int col = 0; col < shown.getColumns(); col++) {
+                    fillCell(row, col);
+                }
+            }
+            shown.clear();
+            drawn = true;
+        }
+        //Painting born cells red first, then dead cells white, to switch the fill only twice per frame
+        graphics.setFill(Color.RED);
+        paintChanges(board, true, 0, board.getRows(), 0, board.getWordsPerRow());
+        graphics.setFill(Color.WHITE);
+        paintChanges(board, false, 0, board.getRows(), 0, board.getWordsPerRow());
+        shown.copyFrom(board);
+        renderedSequence = -1;
+    }
+
+    /**
+     * Draws the game board, which is exactly one generation ahead of the one drawn last, comparing only the tiles
+     * reported as changed.
+     *
+     * @param board   game board of the same dimensions as the renderer.
+     * @param changes generation holding the tiles which changed since the game board drawn last.
+     */
+    private void renderChangedTiles(BitBoard board, Generation changes) {
+        int size = ChangeTracking.TILE_SIZE;
+        int tileRows = (board.getRows() + size - 1) / size;
+        int tileColumns = board.getWordsPerRow();
+        for (int pass = 0; pass < 2; pass++) {
+            boolean births = pass == 0;
+            graphics.setFill(births ? Color.RED : Color.WHITE);
+            for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+                int fromRow = tileRow * size;
+                int toRow = Math.min(fromRow + size, board.getRows());
+                for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                    if (changes.isTileChanged(tileRow, tileCol)) {
+                        paintChanges(board, births, fromRow, toRow, tileCol, tileCol + 1);
+                    }
+                }
+            }
+        }
+        for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+            int toRow = Math.min((tileRow + 1) * size, board.getRows());
+            for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                if (changes.isTileChanged(tileRow, tileCol)) {
+                    for (int row = tileRow * size; row < toRow; row++) {
+                        int index = row * board.getWordsPerRow() + tileCol;
+                        shown.setWord(index, board.getWord(index));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces the whole game board to be painted again on the next call of {@link #render(BitBoard)}.
+     */
+    public void invalidate() {
+        drawn = false;
+    }
+
+    /**
+     * Paints the {@link Cell}s of a region which were either born or died since the board was drawn last,
+     * using the current fill of the canvas.
+     *
+     * @param board    game board to draw.
+     * @param births   {@code true} to paint the born cells, {@code false} to paint the dead ones.
+     * @param fromRow  first row of the region, inclusive.
+     * @param toRow    last row of the region, exclusive.
+     * @param fromWord first word of a row of the region, inclusive.
+     * @param toWord   last word of a row of the region, exclusive.
+     */
+    private void paintChanges(BitBoard board, boolean births, int fromRow, int toRow, int fromWord, int toWord) {
+        int words = board.getWordsPerRow();
+        for (int row = fromRow; row < toRow; row++) {
+            int rowStart = row * words;
+            for (int word = fromWord; word < toWord; word++) {
+                long now = board.getWord(rowStart + word);
+                long changed = now ^ shown.getWord(rowStart + word);
+                changed &= births ? now : ~now;
+                while (changed != 0) {
+                    int bit = Long.numberOfTrailingZeros(changed);
+                    fillCell(row, (word << 6) + bit);
+                    changed &= changed - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the inside of a {@link Cell}, leaving its one pixel wide black border untouched.
+     *
+     * @param row row number of a target {@code Cell}.
+     * @param col column number of a target {@code Cell}.
+     */
+    private void fillCell(int row, int col) {
+        graphics.fillRect(col * CELL_SIZE + 1, row * CELL_SIZE + 1, CELL_SIZE - 2, CELL_SIZE - 2);
+    }
+}
@@ -0,0 +1,453 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ * Checkpoint of a game board, saved to and loaded from a compact binary file through memory-mapped I/O.
+ * </p>
+ * <p>
+ * The file starts with a header, followed by the words of the bit-packed {@link BitBoard} in row-major order,
+ * grouped into blocks of {@link #BLOCK_WORDS} words. All the numbers are little-endian.
+ * </p>
+ * <ol>
+ *     <li>Header - {@code int} magic number {@code "GOLS"}, {@code short} version, {@code byte} ordinal
+ *     of {@link Topology}, {@code int} rows, {@code int} columns, {@code long} generation, {@code short} length
+ *     of the rule followed by the rule in UTF-8, e.g. {@code B3/S23}.</li>
+ *     <li>Run of empty blocks - {@code byte} {@code 0} followed by {@code int} number of consecutive blocks
+ *     of dead cells only.</li>
+ *     <li>Literal block - {@code byte} {@code 1} followed by the {@code long} words of the block.</li>
+ * </ol>
+ * <p>
+ * The file is read and written through windows of {@link #WINDOW_SIZE} bytes mapped one after another, so boards
+ * of any size are transferred straight between the page cache and the game board. {@link #restore(Path, TickEngine)}
+ * decodes the file straight into the game board of an engine on a bit-packed game board, without another copy
+ * of the board, while {@link #load(Path)} decodes it into a game board of its own.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class BoardSnapshot {
+    /**
+     * Number of words of a block, the unit of compression of empty space.
+     */
+    public static final int BLOCK_WORDS = 64;
+    /**
+     * Size of a single memory-mapped window of the file.
+     */
+    private static final int WINDOW_SIZE = 64 << 20;
+    private static final int MAGIC = 0x474F4C53;
+    private static final short VERSION = 1;
+    private static final byte EMPTY_RUN = 0;
+    private static final byte LITERAL = 1;
+
+    private final BitBoard board;
+    private final long generation;
+    private final String rule;
+    private final Topology topology;
+
+    /**
+     * Creates a snapshot of a game board.
+     *
+     * @param board      game board.
+     * @param generation number of the generation of the game board.
+     * @param rule       rulestring the game board evolves by.
+     * @param topology   what lies beyond the edges of the game board.
+     */
+    public BoardSnapshot(BitBoard board, long generation, String rule, Topology topology) {
+        this.board = board;
+        this.generation = generation;
+        this.rule = rule;
+        this.topology = topology;
+    }
+
+    /**
+     * Returns the game board of the snapshot.
+     *
+     * @return game board.
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the number of the generation of the game board.
+     *
+     * @return number of the generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the rulestring the game board evolves by.
+     *
+     * @return rulestring, e.g. {@code B3/S23}.
+     */
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * Returns what lies beyond the edges of the game board.
+     *
+     * @return topology of the game board.
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Takes a snapshot of the current generation of an engine. Engines on bit-packed game boards are not copied,
+     * so the snapshot is valid only until the next tick.
+     *
+     * @param engine target engine.
+     * @return snapshot of the engine.
+     */
+    public static BoardSnapshot of(TickEngine engine) {
+        if (engine instanceof AbstractBitTickEngine) {
+            return new BoardSnapshot(((AbstractBitTickEngine) engine).getBoard(), engine.getGeneration(),
+                    engine.getRule().toString(), engine.getTopology());
+        }
+        BitBoard board = new BitBoard(engine.getRows(), engine.getColumns());
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getColumns(); col++) {
+                board.set(row, col, engine.getState(row, col));
+            }
+        }
+        return new BoardSnapshot(board, engine.getGeneration(), engine.getRule().toString(), engine.getTopology());
+    }
+
+    /**
+     * Replaces the game board and the generation counter of an engine with the ones of the snapshot.
+     *
+     * @param engine target engine of the same dimensions, rule and topology.
+     * @throws IllegalArgumentException if the engine differs from the snapshot.
+     */
+    public void restore(TickEngine engine) {
+        checkCompatible(engine, board.getRows(), board.getColumns(), rule, topology);
+        engine.load(board, generation);
+    }
+
+    /**
+     * Replaces the game board and the generation counter of an engine with the ones of a snapshot file. Engines
+     * on bit-packed game boards get the file decoded straight into their game board, so no other board
+     * is allocated. If the file turns out to be corrupted, the game board of the engine is left undefined.
+     *
+     * @param path   source file.
+     * @param engine target engine of the same dimensions, rule and topology.
+     * @throws IOException              if the file cannot be read or is not a valid snapshot.
+     * @throws IllegalArgumentException if the engine differs from the snapshot.
+     */
+    public static void restore(Path path, TickEngine engine) throws IOException {
+        BoardSnapshot snapshot = read(path, engine);
+        engine.load(snapshot.board, snapshot.generation);
+    }
+
+    /**
+     * Checks whether a snapshot can be restored into an engine.
+     *
+     * @param engine   target engine.
+     * @param rows     number of rows of the snapshot.
+     * @param columns  number of columns of the snapshot.
+     * @param rule     rulestring of the snapshot.
+     * @param topology topology of the snapshot.
+     * @throws IllegalArgumentException if the engine differs from the snapshot.
+     */
+    private static void checkCompatible(TickEngine engine, int rows, int columns, String rule, Topology topology) {
+        if (engine.getRows() != rows || engine.getColumns() != columns) {
+            throw new IllegalArgumentException(rows + " x " + columns + " not allowed for "
+                    + engine.getRows() + " x " + engine.getColumns() + " engine");
+        }
+        if (!Rule.parse(rule).equals(engine.getRule())) {
+            throw new IllegalArgumentException(rule + " not allowed for " + engine.getRule() + " engine");
+        }
+        if (topology != engine.getTopology()) {
+            throw new IllegalArgumentException(topology + " not allowed for " + engine.getTopology() + " engine");
+        }
+    }
+
+    /**
+     * Writes the snapshot to a file, replacing it if it exists. The snapshot is written to a temporary file next
+     * to the target, forced to the disk and then moved over the target atomically, so a crash while saving leaves
+     * the previous snapshot intact.
+     *
+     * @param path target file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            write(temporary);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes the snapshot to a file and forces it to the disk.
+     *
+     * @param path target file.
+     * @throws IOException if the file cannot be written.
+     */
+    private void write(Path path) throws IOException {
+        byte[] ruleBytes = rule.getBytes(StandardCharsets.UTF_8);
+        long size = 4 + 2 + 1 + 4 + 4 + 8 + 2 + ruleBytes.length + bodySize();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedCursor out = new MappedCursor(channel, FileChannel.MapMode.READ_WRITE, size);
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+            out.put((byte) topology.ordinal());
+            out.putInt(board.getRows());
+            out.putInt(board.getColumns());
+            out.putLong(generation);
+            out.putShort((short) ruleBytes.length);
+            for (byte ruleByte : ruleBytes) {
+                out.put(ruleByte);
+            }
+            int words = board.getRows() * board.getWordsPerRow();
+            int emptyBlocks = 0;
+            for (int start = 0; start < words; start += BLOCK_WORDS) {
+                int end = Math.min(start + BLOCK_WORDS, words);
+                if (isEmpty(start, end)) {
+                    emptyBlocks++;
+                    continue;
+                }
+                if (emptyBlocks > 0) {
+                    out.put(EMPTY_RUN);
+                    out.putInt(emptyBlocks);
+                    emptyBlocks = 0;
+                }
+                out.put(LITERAL);
+                for (int index = start; index < end; index++) {
+                    out.putLong(board.getWord(index));
+                }
+            }
+            if (emptyBlocks > 0) {
+                out.put(EMPTY_RUN);
+                out.putInt(emptyBlocks);
+            }
+            out.force();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file.
+     *
+     * @param path source file.
+     * @return snapshot read from the file.
+     * @throws IOException if the file cannot be read or is not a valid snapshot.
+     */
+    public static BoardSnapshot load(Path path) throws IOException {
+        return read(path, null);
+    }
+
+    /**
+     * Reads a snapshot from a file, either into a new game board or into the game board of an engine.
+     *
+     * @param path   source file.
+     * @param engine engine to decode the file into, checked to match the snapshot, or {@code null}.
+     * @return snapshot read from the file.
+     * @throws IOException if the file cannot be read or is not a valid snapshot.
+     */
+    private static BoardSnapshot read(Path path, TickEngine engine) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedCursor in = new MappedCursor(channel, FileChannel.MapMode.READ_ONLY, channel.size());
+            if (in.getInt() != MAGIC) {
+                throw new IOException(path + " is not a snapshot");
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Snapshot version " + version + " not supported");
+            }
+            byte ordinal = in.get();
+            if (ordinal < 0 || ordinal >= Topology.values().length) {
+                throw new IOException("Corrupted snapshot " + path);
+            }
+            Topology topology = Topology.values()[ordinal];
+            int rows = in.getInt();
+            int columns = in.getInt();
+            long generation = in.getLong();
+            if (rows <= 0 || columns <= 0) {
+                throw new IOException("Corrupted snapshot " + path);
+            }
+            byte[] ruleBytes = new byte[Short.toUnsignedInt(in.getShort())];
+            for (int i = 0; i < ruleBytes.length; i++) {
+                ruleBytes[i] = in.get();
+            }
+            String rule = new String(ruleBytes, StandardCharsets.UTF_8);
+            BitBoard board;
+            if (engine == null) {
+                board = new BitBoard(rows, columns);
+            } else {
+                checkCompatible(engine, rows, columns, rule, topology);
+                board = engine instanceof AbstractBitTickEngine
+                        ? ((AbstractBitTickEngine) engine).getBoard() : new BitBoard(rows, columns);
+                //The empty blocks are skipped, not written
+                board.clear();
+            }
+            int words = rows * board.getWordsPerRow();
+            int index = 0;
+            while (index < words) {
+                byte tag = in.get();
+                if (tag == EMPTY_RUN) {
+                    int blocks = in.getInt();
+                    //The last block may be shorter than the others
+                    if (blocks <= 0 || (long) blocks * BLOCK_WORDS >= words - index + BLOCK_WORDS) {
+                        throw new IOException("Corrupted snapshot " + path);
+                    }
+                    index = (int) Math.min(index + (long) blocks * BLOCK_WORDS, words);
+                } else if (tag == LITERAL) {
+                    int end = Math.min(index + BLOCK_WORDS, words);
+                    for (; index < end; index++) {
+                        board.setWord(index, in.getLong());
+                    }
+                } else {
+                    throw new IOException("Corrupted snapshot " + path);
+                }
+            }
+            return new BoardSnapshot(board, generation, rule, topology);
+        }
+    }
+
+    /**
+     * Computes the size of the encoded words of the game board.
+     *
+     * @return number of bytes following the header.
+     */
+    private long bodySize() {
+        int words = board.getRows() * board.getWordsPerRow();
+        long size = 0;
+        boolean inEmptyRun = false;
+        for (int start = 0; start < words; start += BLOCK_WORDS) {
+            int end = Math.min(start + BLOCK_WORDS, words);
+            if (isEmpty(start, end)) {
+                if (!inEmptyRun) {
+                    size += 1 + 4;
+                    inEmptyRun = true;
+                }
+            } else {
+                size += 1 + 8L * (end - start);
+                inEmptyRun = false;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether the words of a block hold dead cells only.
+     *
+     * @param start index of the first word of the block, inclusive.
+     * @param end   index of the last word of the block, exclusive.
+     * @return {@code true} if all the words are {@code 0}.
+     */
+    private boolean isEmpty(int start, int end) {
+        for (int index = start; index < end; index++) {
+            if (board.getWord(index) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sequential reader and writer of a file, mapping the next window of the file whenever the current one
+     * is exhausted.
+     */
+    private static final class MappedCursor {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        private MappedCursor(FileChannel channel, FileChannel.MapMode mode, long size) throws IOException {
+            this.channel = channel;
+            this.mode = mode;
+            this.size = size;
+            map(0);
+        }
+
+        /**
+         * Makes sure the current window holds at least the given number of bytes, mapping the next window
+         * starting at the current position if needed.
+         *
+         * @param bytes number of bytes to be read or written.
+         * @throws IOException if the file ends sooner, or cannot be mapped.
+         */
+        private void require(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                long position = windowStart + window.position();
+                if (position + bytes > size) {
+                    throw new IOException("Unexpected end of snapshot at " + position);
+                }
+                map(position);
+            }
+        }
+
+        private void map(long position) throws IOException {
+            force();
+            windowStart = position;
+            window = channel.map(mode, position, Math.min(WINDOW_SIZE, size - position));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Writes the changes of the current window to the file, if it is mapped for writing.
+         */
+        private void force() {
+            if (window != null && mode == FileChannel.MapMode.READ_WRITE) {
+                window.force();
+            }
+        }
+
+        private byte get() throws IOException {
+            require(1);
+            return window.get();
+        }
+
+        private short getShort() throws IOException {
+            require(2);
+            return window.getShort();
+        }
+
+        private int getInt() throws IOException {
+            require(4);
+            return window.getInt();
+        }
+
+        private long getLong() throws IOException {
+            require(8);
+            return window.getLong();
+        }
+
+        private void put(byte value) throws IOException {
+            require(1);
+            window.put(value);
+        }
+
+        private void putShort(short value) throws IOException {
+            require(2);
+            window.putShort(value);
+        }
+
+        private void putInt(int value) throws IOException {
+            require(4);
+            window.putInt(value);
+        }
+
+        private void putLong(long value) throws IOException {
+            require(8);
+            window.putLong(value);
+        }
+    }
+}
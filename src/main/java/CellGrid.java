@@ -0,0 +1,34 @@
+import javafx.geometry.Pos;
+import javafx.scene.layout.GridPane;
+
+/**
+ * This {@code CellGrid} class builds the visual representation of a game board out of {@link Cell}s, apart from
+ * {@link Tick}, so performing ticks does not need the JavaFX toolkit.
+ *
+ * @author Jan Gajda
+ */
+public final class CellGrid {
+    private CellGrid() {
+    }
+
+    /**
+     * Given a 2D array of integers representing state of each {@link Cell} after applying the rules of
+     * "Game Of Life", creates new {@code Cell} objects and adds them to {@link GridPane} for visual representation
+     * of the game board.
+     *
+     * @param afterTick 2D array representing state of each {@code Cell} on a game board after applying the rules
+     *                  of the John Conway's "Game Of Life".
+     * @return visual representation of a game board after performing the tick.
+     */
+    public static GridPane build(int[][] afterTick) {
+        GridPane gridPane = new GridPane();
+        for (int row = 0; row < GameOfLife.BOARD_SIZE; row++) {
+            for (int col = 0; col < GameOfLife.BOARD_SIZE; col++) {
+                Cell cell = new Cell(afterTick[row][col]);
+                gridPane.add(cell, col, row);
+            }
+        }
+        gridPane.setAlignment(Pos.CENTER);
+        return gridPane;
+    }
+}
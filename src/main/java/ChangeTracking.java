@@ -0,0 +1,59 @@
+/**
+ * <p>
+ * Implemented by the {@link TickEngine}s which know which parts of the game board changed in the last tick.
+ * </p>
+ * <p>
+ * The game board is divided into tiles of {@link #TILE_SIZE} x {@link #TILE_SIZE} {@link Cell}s, the tile
+ * {@code (tileRow, tileCol)} covering rows starting at {@code tileRow * TILE_SIZE} and columns starting at
+ * {@code tileCol * TILE_SIZE}, which is exactly the word {@code tileCol} of a row of {@link BitBoard}.
+ * A tile which is not reported as changed holds the same cells as in the previous generation, so renderers
+ * and persistence may skip it.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public interface ChangeTracking {
+    /**
+     * Number of rows and columns of {@link Cell}s of a single tile.
+     */
+    int TILE_SIZE = 64;
+
+    /**
+     * Returns the number of rows of tiles covering the game board.
+     *
+     * @return number of rows of tiles.
+     */
+    int getTileRows();
+
+    /**
+     * Returns the number of columns of tiles covering the game board.
+     *
+     * @return number of columns of tiles.
+     */
+    int getTileColumns();
+
+    /**
+     * Checks whether any {@link Cell} of a tile changed its state in the last tick. Every tile is reported
+     * as changed after the game board has been modified other way than by a tick.
+     *
+     * @param tileRow row of the tile.
+     * @param tileCol column of the tile.
+     * @return {@code true} if the tile may differ from the previous generation.
+     */
+    boolean isTileChanged(int tileRow, int tileCol);
+
+    /**
+     * Returns the number of tiles reported as changed by {@link #isTileChanged(int, int)}.
+     *
+     * @return number of changed tiles.
+     */
+    int getChangedTileCount();
+
+    /**
+     * Returns the number of {@link Cell}s which changed their state in the last tick. Every cell is counted
+     * as changed after the game board has been modified other way than by a tick.
+     *
+     * @return number of changed cells.
+     */
+    long getChangedCellCount();
+}
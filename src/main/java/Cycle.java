@@ -0,0 +1,54 @@
+/**
+ * Immutable description of a game board which settled into a still life or an oscillator, found by
+ * {@link CycleDetector}.
+ *
+ * @author Jan Gajda
+ */
+public final class Cycle {
+    private final long start;
+    private final long period;
+
+    /**
+     * Creates a description of a cycle.
+     *
+     * @param start  number of the first generation of the cycle.
+     * @param period number of generations after which the game board repeats.
+     */
+    public Cycle(long start, long period) {
+        this.start = start;
+        this.period = period;
+    }
+
+    /**
+     * Returns the number of the first generation of the cycle, which equals the generation {@code period}
+     * generations later.
+     *
+     * @return number of the first generation of the cycle.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the number of generations after which the game board repeats.
+     *
+     * @return period of the cycle, {@code 1} for a still life.
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Checks whether the game board stopped changing at all.
+     *
+     * @return {@code true} for a period of {@code 1}.
+     */
+    public boolean isStillLife() {
+        return period == 1;
+    }
+
+    @Override
+    public String toString() {
+        return isStillLife() ? "still life at gen " + start : "period " + period + " from gen " + start;
+    }
+}
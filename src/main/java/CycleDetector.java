@@ -0,0 +1,288 @@
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Finds out when a game board settles into a still life or an oscillator, by hashing every generation and looking
+ * the hash up among the hashes of the recent generations.
+ * </p>
+ * <p>
+ * The game board is hashed in tiles of {@link ChangeTracking#TILE_SIZE} rows of a single word of the
+ * {@link BitBoard}, the same tiles as the ones of {@code ChangeTracking}. Every non-empty word contributes a mixed
+ * hash of its cells and its index, the hash of a tile is the XOR of the hashes of its words and the hash of the
+ * game board the XOR of the hashes of its tiles. For engines implementing {@code ChangeTracking} only the tiles
+ * which changed in the last tick are hashed again, so the cost follows the activity on the board. Other bit-packed
+ * engines have all their words hashed, and the remaining engines all their cells.
+ * </p>
+ * <p>
+ * The hashes of the last {@code history} generations are kept in a ring buffer indexed by an open-addressing hash
+ * table, so both recording and lookup take constant time and nothing is allocated after construction. Cycles with
+ * a period longer than the history are not found. Two different game boards are taken as equal if their 64-bit
+ * hashes collide, which is negligibly rare.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class CycleDetector {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int capacity;
+    private final long[] hashes;
+    private final long[] generations;
+    /**
+     * Open-addressing table of slots of the ring buffer, stored as {@code slot + 1}, {@code 0} for an empty entry.
+     */
+    private final int[] index;
+    private final int indexMask;
+    private long[] tileHashes = new long[0];
+    private long hash;
+    private int size;
+    private int oldest;
+    private long lastGeneration = -1;
+    private Cycle cycle;
+
+    /**
+     * Creates a detector remembering the given number of generations.
+     *
+     * @param history number of the recent generations to compare with, the longest period which can be found.
+     * @throws IllegalArgumentException if the history is not positive.
+     */
+    public CycleDetector(int history) {
+        if (history <= 0 || history > 1 << 29) {
+            throw new IllegalArgumentException(history + " not allowed");
+        }
+        this.capacity = history;
+        this.hashes = new long[capacity];
+        this.generations = new long[capacity];
+        this.index = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        this.indexMask = index.length - 1;
+    }
+
+    /**
+     * Forgets all the recorded generations, e.g. after the game board was seeded again.
+     */
+    public void reset() {
+        Arrays.fill(index, 0);
+        size = 0;
+        oldest = 0;
+        lastGeneration = -1;
+        cycle = null;
+    }
+
+    /**
+     * Records the current generation of the engine and checks whether it repeats one of the recent generations.
+     * It has to be called for every generation, starting with the seeded one, a generation which does not follow
+     * the one observed last starts the history anew.
+     *
+     * @param engine target engine.
+     * @return cycle the game board settled into, or {@code null} if it did not repeat yet. Once a cycle is found,
+     * it is returned without recording any more generations until {@link #reset()}.
+     */
+    public Cycle observe(TickEngine engine) {
+        if (cycle != null) {
+            return cycle;
+        }
+        long generation = engine.getGeneration();
+        boolean consecutive = lastGeneration >= 0 && generation == lastGeneration + 1;
+        if (!consecutive) {
+            reset();
+        }
+        updateHash(engine, consecutive);
+        lastGeneration = generation;
+        int slot = find(hash);
+        if (slot >= 0) {
+            cycle = new Cycle(generations[slot], generation - generations[slot]);
+            return cycle;
+        }
+        record(hash, generation);
+        return null;
+    }
+
+    /**
+     * Returns the cycle found by the last call of {@link #observe(TickEngine)}.
+     *
+     * @return cycle the game board settled into, or {@code null} if none was found yet.
+     */
+    public Cycle getCycle() {
+        return cycle;
+    }
+
+    /**
+     * Returns the hash of the generation observed last.
+     *
+     * @return 64-bit hash of the game board.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Brings the hash of the game board up to date with the current generation of the engine.
+     *
+     * @param engine      target engine.
+     * @param consecutive whether the current generation directly follows the one hashed last.
+     */
+    private void updateHash(TickEngine engine, boolean consecutive) {
+        if (!(engine instanceof AbstractBitTickEngine)) {
+            hash = hashCells(engine);
+            return;
+        }
+        BitBoard board = ((AbstractBitTickEngine) engine).getBoard();
+        int tileRows = (board.getRows() + ChangeTracking.TILE_SIZE - 1) / ChangeTracking.TILE_SIZE;
+        int tileColumns = board.getWordsPerRow();
+        if (tileHashes.length != tileRows * tileColumns) {
+            tileHashes = new long[tileRows * tileColumns];
+            consecutive = false;
+        }
+        ChangeTracking changes = consecutive && engine instanceof ChangeTracking ? (ChangeTracking) engine : null;
+        if (!consecutive) {
+            hash = 0;
+            Arrays.fill(tileHashes, 0L);
+        }
+        for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+            for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                if (changes != null && !changes.isTileChanged(tileRow, tileCol)) {
+                    continue;
+                }
+                int tile = tileRow * tileColumns + tileCol;
+                long tileHash = hashTile(board, tileRow, tileCol);
+                hash ^= tileHashes[tile] ^ tileHash;
+                tileHashes[tile] = tileHash;
+            }
+        }
+    }
+
+    /**
+     * Hashes the words of a single tile of a bit-packed game board.
+     *
+     * @param board   target game board.
+     * @param tileRow row of the tile.
+     * @param tileCol column of the tile, which is the index of the word within a row.
+     * @return hash of the tile.
+     */
+    private static long hashTile(BitBoard board, int tileRow, int tileCol) {
+        int words = board.getWordsPerRow();
+        int toRow = Math.min((tileRow + 1) * ChangeTracking.TILE_SIZE, board.getRows());
+        long tileHash = 0;
+        for (int row = tileRow * ChangeTracking.TILE_SIZE; row < toRow; row++) {
+            int wordIndex = row * words + tileCol;
+            tileHash ^= hashWord(wordIndex, board.getWord(wordIndex));
+        }
+        return tileHash;
+    }
+
+    /**
+     * Hashes all the cells of an engine, packing them into words the same way as {@link BitBoard} does.
+     *
+     * @param engine target engine.
+     * @return hash of the game board.
+     */
+    private static long hashCells(TickEngine engine) {
+        int words = (engine.getColumns() + 63) >>> 6;
+        long boardHash = 0;
+        for (int row = 0; row < engine.getRows(); row++) {
+            for (int word = 0; word < words; word++) {
+                long packed = 0;
+                int lastCol = Math.min((word + 1) << 6, engine.getColumns());
+                for (int col = word << 6; col < lastCol; col++) {
+                    packed |= (long) engine.getState(row, col) << col;
+                }
+                boardHash ^= hashWord(row * words + word, packed);
+            }
+        }
+        return boardHash;
+    }
+
+    /**
+     * Hashes a single word of a game board together with its position.
+     *
+     * @param wordIndex index of the word on the game board.
+     * @param word      64 cells packed into a word.
+     * @return hash of the word, {@code 0} for a word of dead cells.
+     */
+    private static long hashWord(int wordIndex, long word) {
+        return word == 0 ? 0 : mix(word + wordIndex * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Scrambles the bits of a value, the finalizer of the SplitMix64 generator.
+     *
+     * @param value value to scramble.
+     * @return scrambled value.
+     */
+    private static long mix(long value) {
+        long z = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Looks up a hash among the recorded generations.
+     *
+     * @param key hash of a game board.
+     * @return slot of the ring buffer holding the hash, or {@code -1} if it was not recorded.
+     */
+    private int find(long key) {
+        for (int i = home(key); index[i] != 0; i = (i + 1) & indexMask) {
+            if (hashes[index[i] - 1] == key) {
+                return index[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Records the hash of a generation, evicting the oldest generation if the history is full.
+     *
+     * @param key        hash of the game board.
+     * @param generation number of the generation.
+     */
+    private void record(long key, long generation) {
+        if (size == capacity) {
+            remove(oldest);
+            oldest = (oldest + 1) % capacity;
+            size--;
+        }
+        int slot = (oldest + size) % capacity;
+        hashes[slot] = key;
+        generations[slot] = generation;
+        int i = home(key);
+        while (index[i] != 0) {
+            i = (i + 1) & indexMask;
+        }
+        index[i] = slot + 1;
+        size++;
+    }
+
+    /**
+     * Removes a slot of the ring buffer from the hash table, shifting back the entries of the same probe sequence.
+     *
+     * @param slot slot of the ring buffer.
+     */
+    private void remove(int slot) {
+        int hole = home(hashes[slot]);
+        while (index[hole] != slot + 1) {
+            hole = (hole + 1) & indexMask;
+        }
+        index[hole] = 0;
+        for (int i = (hole + 1) & indexMask; index[i] != 0; i = (i + 1) & indexMask) {
+            int entryHome = home(hashes[index[i] - 1]);
+            //The entry may move to the hole unless its home lies cyclically in (hole, i]
+            boolean stays = hole <= i ? entryHome > hole && entryHome <= i : entryHome > hole || entryHome <= i;
+            if (!stays) {
+                index[hole] = index[i];
+                index[i] = 0;
+                hole = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the first entry of the hash table to probe for a hash.
+     *
+     * @param key hash of a game board.
+     * @return index of the hash table.
+     */
+    private int home(long key) {
+        return (int) mix(key) & indexMask;
+    }
+}
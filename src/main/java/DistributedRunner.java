@@ -0,0 +1,300 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Runs a simulation of a game board split into horizontal strips across several {@link StripWorker} processes,
+ * so neither the memory nor the cores of a single JVM limit the size of the board.
+ * </p>
+ * <p>
+ * The coordinator only hands out the strips and the addresses of the neighbours, starts all the workers at once
+ * and collects their results, the halo rows flow directly between the workers. The workers are started as JVMs
+ * on this host by default, or with {@code --spawn false} the coordinator waits for workers started by hand,
+ * e.g. on other nodes, connecting to {@code --port}. It can be used from the command line:
+ * </p>
+ * <pre>
+ * java -cp GameOfLife.jar DistributedRunner [--size 4096] [--generations 1000] [--workers 4] [--halo 4]
+ *      [--topology dead] [--seed 42] [--port 0] [--spawn true] [--verify false]
+ * </pre>
+ * <p>
+ * The board is seeded with the random pattern of the given seed. With {@code --verify true} the same run is
+ * repeated by a single {@link BitTickEngine} in the coordinator and every strip is compared with it, which is
+ * meant for testing on boards small enough for a single JVM.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class DistributedRunner {
+    /**
+     * Time between two checks of the started workers while waiting for them to connect.
+     */
+    private static final long ACCEPT_CHECK_MILLIS = 1000;
+
+    private DistributedRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int size = 4096;
+        long generations = 1000;
+        int workers = 4;
+        int halo = 4;
+        Topology topology = Topology.DEAD;
+        long seed = new Random().nextLong();
+        int port = 0;
+        boolean spawn = true;
+        boolean verify = false;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException(args[i] + " requires a value");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--size":
+                        size = Integer.parseInt(value);
+                        break;
+                    case "--generations":
+                        generations = Long.parseLong(value);
+                        break;
+                    case "--workers":
+                        workers = Integer.parseInt(value);
+                        break;
+                    case "--halo":
+                        halo = Integer.parseInt(value);
+                        break;
+                    case "--topology":
+                        topology = Topology.valueOf(value.toUpperCase());
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(value);
+                        break;
+                    case "--spawn":
+                        spawn = Boolean.parseBoolean(value);
+                        break;
+                    case "--verify":
+                        verify = Boolean.parseBoolean(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i] + " not allowed");
+                }
+            }
+            if (workers <= 0 || halo <= 0 || size / workers < halo) {
+                throw new IllegalArgumentException(workers + " workers with halo " + halo + " not allowed for size "
+                        + size);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: DistributedRunner [--size N] [--generations N] [--workers N] [--halo N]"
+                    + " [--topology dead|toroidal] [--seed N] [--port N] [--spawn true|false] [--verify true|false]");
+            System.exit(1);
+            return;
+        }
+
+        List<Process> processes = new ArrayList<>();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(port));
+            int boundPort = ((InetSocketAddress) server.getLocalAddress()).getPort();
+            if (spawn) {
+                for (int i = 0; i < workers; i++) {
+                    processes.add(spawnWorker(boundPort));
+                }
+            } else {
+                System.out.println("Waiting for " + workers + " workers on port " + boundPort);
+            }
+            long[] hashes = coordinate(server, processes, workers, size, halo, topology, seed, generations);
+            if (verify && !verify(size, topology, seed, generations, hashes)) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            //The other workers may be waiting for the failed one forever
+            for (Process process : processes) {
+                process.destroy();
+            }
+            throw e;
+        } finally {
+            for (Process process : processes) {
+                process.waitFor();
+            }
+        }
+    }
+
+    /**
+     * Hands out the strips to the workers connecting to the coordinator, starts them all at once and prints
+     * the summary of their results.
+     *
+     * @param server      bound channel the workers connect to.
+     * @param processes   worker processes started by the coordinator, given up on if any exits before connecting,
+     *                    or an empty list for workers started by hand.
+     * @param workers     number of workers.
+     * @param size        number of rows and columns of the game board.
+     * @param halo        number of halo rows exchanged at once.
+     * @param topology    what lies beyond the edges of the game board.
+     * @param seed        seed of the random pattern.
+     * @param generations number of generations.
+     * @return hashes of the strips computed by the workers, by {@link StripWorker#hash(BitBoard, int, int)}.
+     * @throws IOException if a worker cannot be reached, exits or sends anything unexpected.
+     */
+    static long[] coordinate(ServerSocketChannel server, List<Process> processes, int workers, int size, int halo,
+                             Topology topology, long seed, long generations) throws IOException {
+        SocketChannel[] controls = new SocketChannel[workers];
+        try {
+            String[] hosts = new String[workers];
+            int[] haloPorts = new int[workers];
+            ByteBuffer message = ByteBuffer.allocate(256);
+            for (int i = 0; i < workers; i++) {
+                controls[i] = accept(server, processes);
+                hosts[i] = ((InetSocketAddress) controls[i].getRemoteAddress()).getAddress().getHostAddress();
+                message.clear().limit(Integer.BYTES);
+                StripWorker.readFully(controls[i], message);
+                haloPorts[i] = message.getInt();
+            }
+            for (int i = 0; i < workers; i++) {
+                boolean hasDown = topology == Topology.TOROIDAL ? workers > 1 : i < workers - 1;
+                int below = (i + 1) % workers;
+                byte[] downHost = hosts[below].getBytes(StandardCharsets.UTF_8);
+                message.clear();
+                message.putInt(i).putInt(workers).putInt(size).putInt(size).put((byte) topology.ordinal())
+                        .putInt(halo).putLong(seed).putLong(generations).putInt(hasDown ? haloPorts[below] : -1)
+                        .putShort((short) downHost.length).put(downHost).flip();
+                StripWorker.writeFully(controls[i], message);
+            }
+            for (SocketChannel control : controls) {
+                expect(control, StripWorker.READY, message);
+            }
+            for (SocketChannel control : controls) {
+                message.clear();
+                message.put(StripWorker.GO).flip();
+                StripWorker.writeFully(control, message);
+            }
+
+            long elapsed = 0;
+            long population = 0;
+            long exchanges = 0;
+            long bytes = 0;
+            long[] hashes = new long[workers];
+            for (int i = 0; i < workers; i++) {
+                message.clear().limit(5 * Long.BYTES);
+                StripWorker.readFully(controls[i], message);
+                elapsed = Math.max(elapsed, message.getLong());
+                population += message.getLong();
+                hashes[i] = message.getLong();
+                exchanges = Math.max(exchanges, message.getLong());
+                bytes += message.getLong();
+            }
+            System.out.println(new RunResult(generations, elapsed, population));
+            System.out.printf("%d workers, seed %d, %d exchanges of halo %d, %.1f MiB of halo rows sent%n",
+                    workers, seed, exchanges, halo, bytes / (double) (1 << 20));
+            return hashes;
+        } finally {
+            for (SocketChannel control : controls) {
+                if (control != null) {
+                    control.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the next worker to connect. The workers started by the coordinator are checked every second,
+     * so a worker which exits before connecting, e.g. on a wrong class path, fails the run instead of leaving
+     * the coordinator waiting forever.
+     *
+     * @param server    bound channel the workers connect to.
+     * @param processes worker processes started by the coordinator, or an empty list to wait without any checks.
+     * @return control channel of the worker, in the blocking mode.
+     * @throws IOException if the channel cannot be accepted or a worker process has exited.
+     */
+    private static SocketChannel accept(ServerSocketChannel server, List<Process> processes) throws IOException {
+        if (processes.isEmpty()) {
+            return server.accept();
+        }
+        server.configureBlocking(false);
+        try (Selector selector = Selector.open()) {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            while (true) {
+                selector.select(ACCEPT_CHECK_MILLIS);
+                SocketChannel control = server.accept();
+                if (control != null) {
+                    control.configureBlocking(true);
+                    return control;
+                }
+                for (Process process : processes) {
+                    if (!process.isAlive()) {
+                        throw new IOException("Worker exited with code " + process.exitValue() + " before connecting");
+                    }
+                }
+            }
+        } finally {
+            server.configureBlocking(true);
+        }
+    }
+
+    /**
+     * Starts a worker JVM on this host with the class path of this JVM.
+     *
+     * @param port port of the coordinator.
+     * @return worker process, sharing the output of this one.
+     * @throws IOException if the process cannot be started.
+     */
+    private static Process spawnWorker(int port) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "StripWorker",
+                "--coordinator", "127.0.0.1:" + port).inheritIO().start();
+    }
+
+    /**
+     * Reads a single byte message from a worker.
+     *
+     * @param control  control channel of the worker.
+     * @param expected expected message.
+     * @param message  buffer to read into.
+     * @throws IOException if the worker sent anything else, or the channel cannot be read.
+     */
+    private static void expect(SocketChannel control, byte expected, ByteBuffer message) throws IOException {
+        message.clear().limit(1);
+        StripWorker.readFully(control, message);
+        if (message.get() != expected) {
+            throw new IOException("Unexpected message from " + control.getRemoteAddress());
+        }
+    }
+
+    /**
+     * Repeats the run on a single engine and compares every strip with the one computed by its worker.
+     *
+     * @param size        number of rows and columns of the game board.
+     * @param topology    what lies beyond the edges of the game board.
+     * @param seed        seed of the random pattern.
+     * @param generations number of generations.
+     * @param hashes      hashes of the strips computed by the workers.
+     * @return {@code true} if all the strips match.
+     */
+    static boolean verify(int size, Topology topology, long seed, long generations, long[] hashes) {
+        BitTickEngine engine = new BitTickEngine(size, size, topology);
+        Patterns.random(engine, new Random(seed));
+        HeadlessRunner.run(engine, generations);
+        boolean matches = true;
+        for (int i = 0; i < hashes.length; i++) {
+            int fromRow = StripWorker.firstRow(i, hashes.length, size);
+            int toRow = StripWorker.firstRow(i + 1, hashes.length, size);
+            if (StripWorker.hash(engine.getBoard(), fromRow, toRow) != hashes[i]) {
+                System.err.println("Strip " + i + " of rows " + fromRow + " to " + toRow + " differs");
+                matches = false;
+            }
+        }
+        System.out.println(matches ? "Verified against a single engine" : "Verification failed");
+        return matches;
+    }
+}
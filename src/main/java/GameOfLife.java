@@ -1,17 +1,14 @@
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.event.ActionEvent;
-import javafx.event.Event;
-import javafx.event.EventHandler;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
-import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
-import javafx.util.Duration;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
@@ -42,9 +39,9 @@ import javafx.util.Duration;
  * @author Jan Gajda
  * @see <a href="https://en.wikipedia.org/wiki/Conway%27s_Game_of_Life">https://en.wikipedia.org/wiki/Conway%27s_Game_of_Life</a>
  */
-public final class GameOfLife extends Application implements EventHandler<ActionEvent> {
+public final class GameOfLife extends Application {
     /**
-     * Describes one of 3 available pattern of {@link Cell}s on a {@link GridPane} game board.
+     * Describes one of 3 available pattern of {@link Cell}s on a game board.
      * <p>These 3 types required by recruiting team are:</p>
      * <ol>
      *      <li>Random pattern - {@code iteration = 0}</li>
@@ -54,15 +51,59 @@ public final class GameOfLife extends Application implements EventHandler<Action
      */
     int iteration = 0;
 
-    public static final int BOARD_SIZE = 50;
+    /**
+     * Number of rows and columns of the game board, configurable by the {@code gameoflife.boardSize}
+     * system property.
+     */
+    public static final int BOARD_SIZE = Integer.getInteger("gameoflife.boardSize", 50);
+    /**
+     * Time between two ticks, independent of the frame rate of the display.
+     */
     public static final double GAME_SPEED_IN_SECONDS = 1.0 / 30;
-    public static int[][] beforeTick = new int[BOARD_SIZE][BOARD_SIZE];
-    public static int[][] afterTick = new int[BOARD_SIZE][BOARD_SIZE];
+    public static final double START_DELAY_IN_SECONDS = 2;
+    public static final Topology TOPOLOGY = Topology.DEAD;
+    /**
+     * Name of the {@link TickEngine} performing ticks, configurable by the {@code gameoflife.engine}
+     * system property, one of {@link TickEngines#NAMES}.
+     */
+    public static final String ENGINE = System.getProperty("gameoflife.engine", "incremental");
+    /**
+     * Rule the game board evolves by, configurable by the {@code gameoflife.rule} system property,
+     * e.g. {@code B36/S23}. Rules other than {@code B3/S23} need the {@code array} or {@code lookup} engine.
+     */
+    public static final Rule RULE = Rule.parse(System.getProperty("gameoflife.rule", "B3/S23"));
+    /**
+     * Number of recent generations checked for a still life or an oscillator, which stops the simulation,
+     * configurable by the {@code gameoflife.history} system property. {@code 0} keeps ticking forever.
+     */
+    public static final int HISTORY = Integer.getInteger("gameoflife.history", 1024);
+    /**
+     * Seed of the random pattern, configurable by the {@code gameoflife.seed} system property, the same as
+     * {@code --seed} of {@link HeadlessRunner}. Without it every random pattern differs.
+     */
+    public static final Long SEED = Long.getLong("gameoflife.seed");
+    /**
+     * Period in seconds of the log line of {@link TickMetrics}, configurable by the {@code gameoflife.metrics}
+     * system property. {@code 0} measures the game loop for JMX only, and a negative period leaves the measurements
+     * off until they are turned on through JMX.
+     */
+    public static final int METRICS_PERIOD = Integer.getInteger("gameoflife.metrics", -1);
 
-    private final GameBoard gameBoard = new GameBoard();
-    private final Timeline timeline = new Timeline();
-    private GridPane gridPane = gameBoard.setupGrid(iteration);
-    private Scene scene = new Scene(gridPane);
+    private final TickEngine engine = TickEngines.create(ENGINE, BOARD_SIZE, BOARD_SIZE, TOPOLOGY,
+            Runtime.getRuntime().availableProcessors(), RULE);
+    private final TickMetrics metrics = new TickMetrics();
+    private final SimulationLoop simulation = new SimulationLoop(engine,
+            (long) (GAME_SPEED_IN_SECONDS * TimeUnit.SECONDS.toNanos(1)),
+            HISTORY > 0 ? new CycleDetector(HISTORY) : null, metrics);
+    private final BoardRenderer renderer = new BoardRenderer(BOARD_SIZE, BOARD_SIZE);
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            renderLatest();
+        }
+    };
+    private final StackPane root = new StackPane(renderer.getCanvas());
+    private Scene scene = new Scene(root);
     private Stage stage = new Stage();
 
     public static void main(String[] args) {
@@ -70,13 +111,14 @@ public final class GameOfLife extends Application implements EventHandler<Action
     }
 
     /**
-     * The main entry point of JavaFX application. It controls the {@link Timeline} object, which together with
-     * {@link GameOfLife#handle(ActionEvent)} method are responsible for proper game loop logic.
+     * The main entry point of JavaFX application. It starts the {@link SimulationLoop}, which ticks the game board
+     * on its own thread, and the {@link AnimationTimer}, which draws the latest generation on every frame.
      * It manages scenes and stages.
      * <p>
-     * It also implements {@link EventHandler} of {@link javafx.scene.input.KeyEvent} generic type.
-     * It listens for a user to press {@code ENTER} key which is responsible for increasing the {@link GameOfLife#iteration},
-     * therefore cycling through the available {@code GridPane} game board patterns.
+     * It also implements {@link javafx.event.EventHandler} of {@link javafx.scene.input.KeyEvent} generic type.
+     * It listens for a user to press {@code ENTER} key which is responsible for increasing the
+     * {@link GameOfLife#iteration}, therefore cycling through the available game board patterns. The new pattern is
+     * seeded on the simulation thread, so the JavaFX Application Thread never waits for a tick.
      * </p>
      *
      * @param primaryStage the primary stage for this application, onto which the application scene can be set.
@@ -84,7 +126,11 @@ public final class GameOfLife extends Application implements EventHandler<Action
      */
     @Override
     public void start(Stage primaryStage) {
+        int pattern = iteration;
+        simulation.submit(board -> Patterns.seed(pattern, board, newGenerator()));
+
         //Game scene
+        root.setAlignment(Pos.CENTER);
         stage.setResizable(false);
         stage.setWidth(16 * BOARD_SIZE);
         stage.setHeight(16 * BOARD_SIZE);
@@ -93,26 +139,26 @@ public final class GameOfLife extends Application implements EventHandler<Action
         stage.setScene(scene);
         stage.show();
 
-        //Animation controller
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.setDelay(Duration.seconds(2));
-        timeline.getKeyFrames().addAll(new KeyFrame(
-                Duration.seconds(GAME_SPEED_IN_SECONDS),
-                this
-        ));
-        timeline.play();
+        //Measurements of the game loop, exposed through JMX
+        metrics.register();
+        if (METRICS_PERIOD >= 0) {
+            metrics.setEnabled(true);
+        }
+        if (METRICS_PERIOD > 0) {
+            metrics.startLogging(METRICS_PERIOD);
+        }
+
+        //Simulation thread and frame timer
+        simulation.start((long) (START_DELAY_IN_SECONDS * TimeUnit.SECONDS.toNanos(1)));
+        frameTimer.start();
 
         //ENTER key listener
         scene.setOnKeyPressed(event -> {
             if (event.getCode() == KeyCode.ENTER) {
                 iteration++;
-                if (iteration < 3) {
-                    timeline.stop();
-                    GridPane newGrid = gameBoard.setupGrid(iteration);
-                    scene.setRoot(newGrid);
-                    stage.setScene(scene);
-                    stage.show();
-                    timeline.play();
+                if (iteration < Patterns.COUNT) {
+                    int next = iteration;
+                    simulation.submit(board -> Patterns.seed(next, board, newGenerator()));
                 } else {
                     Platform.exit();
                 }
@@ -121,20 +167,40 @@ public final class GameOfLife extends Application implements EventHandler<Action
     }
 
     /**
-     * Event handler for {@link Timeline} attribute.
-     * This handler is responsible for performing tick logic via {@link Tick} class,
-     * and forwarding the resulting {@link GridPane} to the main {@link Stage}, which renders it on screen.
+     * Stops the frame timer and the simulation thread when the application exits.
      *
-     * @param event target {@link ActionEvent}
-     * @see EventHandler#handle(Event)
+     * @see Application#stop()
      */
     @Override
-    public void handle(ActionEvent event) {
-        afterTick = Tick.getValuesAfterTick(beforeTick);
-        gridPane = Tick.buildGridAfterTick(afterTick);
-        gridPane.setAlignment(Pos.CENTER);
-        scene.setRoot(gridPane);
-        stage.setScene(scene);
-        stage.show();
+    public void stop() {
+        frameTimer.stop();
+        simulation.close();
+        metrics.stopLogging();
+    }
+
+    /**
+     * Creates the pseudorandom generator of the random pattern.
+     *
+     * @return generator seeded by {@link #SEED}, if given.
+     */
+    private static Random newGenerator() {
+        return SEED == null ? new Random() : new Random(SEED);
+    }
+
+    /**
+     * Draws the latest generation published by the {@link SimulationLoop}, repainting the {@link Cell}s which
+     * changed on the canvas of {@link BoardRenderer}. The generations published since the previous frame are
+     * skipped, and nothing is drawn if there is no new one. Once the board settles, the title tells how.
+     */
+    private void renderLatest() {
+        Generation generation = simulation.poll();
+        if (generation != null) {
+            metrics.beginRender();
+            renderer.render(generation);
+            metrics.endRender();
+            simulation.release(generation);
+            Cycle cycle = simulation.getCycle();
+            stage.setTitle(cycle == null ? "Game Of Life" : "Game Of Life - " + cycle);
+        }
     }
 }
@@ -0,0 +1,153 @@
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A generation of a game board published by {@link SimulationLoop} to be drawn by the JavaFX Application Thread.
+ * </p>
+ * <p>
+ * It holds its own bit-packed copy of the game board, which is not modified from the moment the generation is
+ * published until it is handed back by {@link SimulationLoop#release(Generation)}. Released generations are
+ * reused for later copies, so the simulation does not allocate a new board every tick.
+ * </p>
+ * <p>
+ * A generation published right after a tick of an engine implementing {@link ChangeTracking} also holds the tiles
+ * which changed since the generation published before it, so a renderer which has drawn that one may compare only
+ * those tiles.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class Generation {
+    private final BitBoard board;
+    private final long[] changedTiles;
+    private long sequence;
+    private long number;
+    private long population;
+    private boolean tracked;
+    private volatile boolean fresh;
+
+    /**
+     * Creates an empty generation for a game board of the given dimensions.
+     *
+     * @param rows    number of rows of the game board.
+     * @param columns number of columns of the game board.
+     */
+    Generation(int rows, int columns) {
+        this.board = new BitBoard(rows, columns);
+        int tileRows = (rows + ChangeTracking.TILE_SIZE - 1) / ChangeTracking.TILE_SIZE;
+        this.changedTiles = new long[(int) (((long) tileRows * board.getWordsPerRow() + 63) >>> 6)];
+    }
+
+    /**
+     * Copies the current generation of an engine of the same dimensions.
+     *
+     * @param engine   source engine.
+     * @param sequence number of the publication, one more than the one of the generation published before.
+     * @param ticked   {@code true} if the engine only ticked since the generation published before.
+     */
+    void copyFrom(TickEngine engine, long sequence, boolean ticked) {
+        if (engine instanceof AbstractBitTickEngine) {
+            board.copyFrom(((AbstractBitTickEngine) engine).getBoard());
+        } else {
+            for (int row = 0; row < board.getRows(); row++) {
+                for (int col = 0; col < board.getColumns(); col++) {
+                    board.set(row, col, engine.getState(row, col));
+                }
+            }
+        }
+        this.sequence = sequence;
+        number = engine.getGeneration();
+        population = board.population();
+        tracked = ticked && engine instanceof ChangeTracking;
+        if (tracked) {
+            ChangeTracking changes = (ChangeTracking) engine;
+            Arrays.fill(changedTiles, 0);
+            int tileColumns = board.getWordsPerRow();
+            for (int tileRow = 0; tileRow < changes.getTileRows(); tileRow++) {
+                for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                    if (changes.isTileChanged(tileRow, tileCol)) {
+                        long tile = (long) tileRow * tileColumns + tileCol;
+                        changedTiles[(int) (tile >>> 6)] |= 1L << tile;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the game board of the generation. It must not be modified by the caller.
+     *
+     * @return game board.
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the number of the publication of the generation, which grows by one with every generation
+     * published by the simulation, whether it is taken or dropped.
+     *
+     * @return number of the publication.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of ticks the engine performed before this generation.
+     *
+     * @return number of the generation.
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns the number of alive {@link Cell}s of the generation.
+     *
+     * @return number of alive cells.
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * Checks whether the generation knows which tiles changed since the generation published before it.
+     *
+     * @return {@code true} if {@link #isTileChanged(int, int)} may be relied on.
+     */
+    public boolean hasTileChanges() {
+        return tracked;
+    }
+
+    /**
+     * Checks whether any {@link Cell} of a tile, as defined by {@link ChangeTracking}, changed its state since
+     * the generation published before this one. It is meaningful only if {@link #hasTileChanges()}.
+     *
+     * @param tileRow row of the tile.
+     * @param tileCol column of the tile, which is the word of a row of the game board.
+     * @return {@code true} if the tile may differ from the previous generation.
+     */
+    public boolean isTileChanged(int tileRow, int tileCol) {
+        long tile = (long) tileRow * board.getWordsPerRow() + tileCol;
+        return (changedTiles[(int) (tile >>> 6)] & 1L << tile) != 0;
+    }
+
+    /**
+     * Checks whether the generation was published and not taken yet.
+     *
+     * @return {@code true} if the generation awaits the display.
+     */
+    boolean isFresh() {
+        return fresh;
+    }
+
+    /**
+     * Marks the generation as published and not taken yet, or as taken.
+     *
+     * @param fresh {@code true} when publishing, {@code false} when taking.
+     */
+    void setFresh(boolean fresh) {
+        this.fresh = fresh;
+    }
+}
@@ -0,0 +1,421 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Replays a recording written by {@link GenerationRecorder}, in the format described there.
+ * </p>
+ * <p>
+ * A generation is read by jumping to the nearest keyframe at or before it and applying the deltas after
+ * the keyframe up to the generation. Reading the generations in ascending order continues from the last one read
+ * instead, so a whole recording is replayed by a single pass over the file. The keyframes are found by the index
+ * at the end of the file, or by a scan of the file if the recording was cut short before the index was written.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class GenerationReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int INDEX_TRAILER = 2 * Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final Topology topology;
+    private final String rule;
+    private final int keyframeInterval;
+    private final BitBoard board;
+    private final int length;
+    private long[] keyframeGenerations = new long[16];
+    private long[] keyframePositions = new long[16];
+    private int keyframes;
+    private long lastGeneration = -1;
+    private long current = -1;
+
+    /**
+     * Opens a recording.
+     *
+     * @param path recording file.
+     * @throws IOException if the file cannot be read or is not a recording.
+     */
+    public GenerationReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            buffer.flip();
+            ensure(2 * Short.BYTES + Byte.BYTES + 4 * Integer.BYTES);
+            if (buffer.getInt() != GenerationRecorder.MAGIC) {
+                throw new IOException(path + " is not a recording");
+            }
+            short version = buffer.getShort();
+            if (version != GenerationRecorder.VERSION) {
+                throw new IOException("Version " + version + " not supported");
+            }
+            byte ordinal = buffer.get();
+            if (ordinal < 0 || ordinal >= Topology.values().length) {
+                throw new IOException("Corrupt header of " + path);
+            }
+            this.topology = Topology.values()[ordinal];
+            int rows = buffer.getInt();
+            int columns = buffer.getInt();
+            this.keyframeInterval = buffer.getInt();
+            int ruleLength = Short.toUnsignedInt(buffer.getShort());
+            if (rows <= 0 || columns <= 0 || keyframeInterval <= 0 || ruleLength > channel.size() - position()) {
+                throw new IOException("Corrupt header of " + path);
+            }
+            byte[] ruleBytes = new byte[ruleLength];
+            ensure(ruleBytes.length);
+            buffer.get(ruleBytes);
+            this.rule = new String(ruleBytes, StandardCharsets.UTF_8);
+            try {
+                Rule.parse(rule);
+                this.board = new BitBoard(rows, columns);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt header of " + path, e);
+            }
+            this.length = rows * board.getWordsPerRow();
+            if (!readIndex(position())) {
+                scan();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of rows of the recorded game board.
+     *
+     * @return number of rows.
+     */
+    public int getRows() {
+        return board.getRows();
+    }
+
+    /**
+     * Returns the number of columns of the recorded game board.
+     *
+     * @return number of columns.
+     */
+    public int getColumns() {
+        return board.getColumns();
+    }
+
+    /**
+     * Returns the rulestring the recorded game board evolves by.
+     *
+     * @return rulestring, e.g. {@code B3/S23}.
+     */
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * Returns what lies beyond the edges of the recorded game board.
+     *
+     * @return topology of the game board.
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Returns the number of recorded generations from one keyframe to the next.
+     *
+     * @return keyframe interval.
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Returns the first recorded generation.
+     *
+     * @return number of the generation, or {@code -1} if nothing was recorded.
+     */
+    public long getFirstGeneration() {
+        return keyframes == 0 ? -1 : keyframeGenerations[0];
+    }
+
+    /**
+     * Returns the last recorded generation.
+     *
+     * @return number of the generation, or {@code -1} if nothing was recorded.
+     */
+    public long getLastGeneration() {
+        return lastGeneration;
+    }
+
+    /**
+     * Reads a recorded generation. The game board of the returned snapshot is reused by the next read, and must not
+     * be modified by the caller.
+     *
+     * @param generation number of the generation.
+     * @return snapshot of the generation, valid until the next read.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the generation was not recorded.
+     */
+    public BoardSnapshot read(long generation) throws IOException {
+        int keyframe = Arrays.binarySearch(keyframeGenerations, 0, keyframes, generation);
+        if (keyframe < 0) {
+            keyframe = -keyframe - 2;
+        }
+        if (keyframe < 0 || generation > lastGeneration) {
+            throw new IllegalArgumentException(generation + " not recorded");
+        }
+        //Forget the position on any failure, so the next read starts from a keyframe
+        long reached = current;
+        current = -1;
+        if (reached < keyframeGenerations[keyframe] || reached > generation) {
+            seek(keyframePositions[keyframe]);
+        }
+        while (reached != generation) {
+            ensure(Byte.BYTES + Long.BYTES);
+            byte type = buffer.get();
+            long recorded = buffer.getLong();
+            if (type == GenerationRecorder.INDEX || recorded > generation) {
+                throw new IllegalArgumentException(generation + " not recorded");
+            }
+            if (type == GenerationRecorder.KEYFRAME) {
+                board.clear();
+            }
+            decode(board);
+            reached = recorded;
+        }
+        current = reached;
+        return new BoardSnapshot(board, generation, rule, topology);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the index of the keyframes at the end of the file, if there is one.
+     *
+     * @param firstRecord position of the first record.
+     * @return {@code true} if the index was read.
+     * @throws IOException if the file cannot be read.
+     */
+    private boolean readIndex(long firstRecord) throws IOException {
+        long size = channel.size();
+        if (size < firstRecord + Byte.BYTES + Integer.BYTES + INDEX_TRAILER) {
+            return false;
+        }
+        seek(size - INDEX_TRAILER);
+        ensure(INDEX_TRAILER);
+        long last = buffer.getLong();
+        long indexPosition = buffer.getLong();
+        if (buffer.getInt() != GenerationRecorder.MAGIC || indexPosition < firstRecord
+                || indexPosition > size - INDEX_TRAILER) {
+            seek(firstRecord);
+            return false;
+        }
+        seek(indexPosition);
+        ensure(Byte.BYTES + Integer.BYTES);
+        if (buffer.get() != GenerationRecorder.INDEX) {
+            seek(firstRecord);
+            return false;
+        }
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            ensure(2 * Long.BYTES);
+            addKeyframe(buffer.getLong(), buffer.getLong());
+        }
+        lastGeneration = last;
+        return true;
+    }
+
+    /**
+     * Finds the keyframes by reading through all the records, up to the last complete one.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    private void scan() throws IOException {
+        try {
+            while (hasMore()) {
+                long position = position();
+                ensure(Byte.BYTES + Long.BYTES);
+                byte type = buffer.get();
+                long recorded = buffer.getLong();
+                if (type == GenerationRecorder.INDEX) {
+                    break;
+                }
+                decode(null);
+                if (type == GenerationRecorder.KEYFRAME) {
+                    addKeyframe(recorded, position);
+                }
+                if (keyframes > 0) {
+                    lastGeneration = recorded;
+                }
+            }
+        } catch (EOFException e) {
+            //The recording was cut short in the middle of the last record
+        }
+    }
+
+    /**
+     * Adds a keyframe to the index.
+     *
+     * @param generation number of the generation of the keyframe.
+     * @param position   position of the keyframe in the file.
+     */
+    private void addKeyframe(long generation, long position) {
+        if (keyframes == keyframeGenerations.length) {
+            keyframeGenerations = Arrays.copyOf(keyframeGenerations, keyframes * 2);
+            keyframePositions = Arrays.copyOf(keyframePositions, keyframes * 2);
+        }
+        keyframeGenerations[keyframes] = generation;
+        keyframePositions[keyframes] = position;
+        keyframes++;
+    }
+
+    /**
+     * Reads the words of a record and applies them to a game board.
+     *
+     * @param target game board the words are XOR-ed into, or {@code null} to skip the record.
+     * @throws IOException if the file cannot be read or the record is corrupt.
+     */
+    private void decode(BitBoard target) throws IOException {
+        ensure(Byte.BYTES);
+        byte encoding = buffer.get();
+        if (encoding == GenerationRecorder.WORD_RUNS) {
+            decodeRuns(target);
+        } else if (encoding == GenerationRecorder.BIT_GAPS) {
+            decodeGaps(target);
+        } else {
+            throw new IOException("Corrupt record at " + position());
+        }
+    }
+
+    /**
+     * Reads the runs of zero and non-zero words of a record and applies them to a game board.
+     *
+     * @param target game board the words are XOR-ed into, or {@code null} to skip the record.
+     * @throws IOException if the file cannot be read or the record is corrupt.
+     */
+    private void decodeRuns(BitBoard target) throws IOException {
+        int index = 0;
+        while (index < length) {
+            long zeros = getVarint();
+            long literals = getVarint();
+            if (zeros + literals > length - index) {
+                throw new IOException("Corrupt record at " + position());
+            }
+            index += (int) zeros;
+            for (int end = index + (int) literals; index < end; index++) {
+                ensure(Long.BYTES);
+                long word = buffer.getLong();
+                if (target != null) {
+                    target.setWord(index, target.getWord(index) ^ word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the gaps between the set bits of a record and applies them to a game board.
+     *
+     * @param target game board the bits are XOR-ed into, or {@code null} to skip the record.
+     * @throws IOException if the file cannot be read or the record is corrupt.
+     */
+    private void decodeGaps(BitBoard target) throws IOException {
+        long bits = (long) length << 6;
+        long next = 0;
+        long gap;
+        while ((gap = getVarint()) != 0) {
+            long bit = next + gap - 1;
+            if (gap < 0 || bit >= bits) {
+                throw new IOException("Corrupt record at " + position());
+            }
+            if (target != null) {
+                int index = (int) (bit >>> 6);
+                target.setWord(index, target.getWord(index) ^ 1L << bit);
+            }
+            next = bit + 1;
+        }
+    }
+
+    /**
+     * Reads a non-negative number written in 7 bits per byte.
+     *
+     * @return the number.
+     * @throws IOException if the file cannot be read.
+     */
+    private long getVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            ensure(Byte.BYTES);
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt number at " + position());
+    }
+
+    /**
+     * Returns the position in the file of the next byte to be read.
+     *
+     * @return position in the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private long position() throws IOException {
+        return channel.position() - buffer.remaining();
+    }
+
+    /**
+     * Moves to the given position in the file.
+     *
+     * @param position position in the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private void seek(long position) throws IOException {
+        channel.position(position);
+        buffer.clear().flip();
+    }
+
+    /**
+     * Returns whether any bytes are left in the file.
+     *
+     * @return {@code true} if there is at least one more byte.
+     * @throws IOException if the file cannot be read.
+     */
+    private boolean hasMore() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            return read > 0;
+        }
+        return true;
+    }
+
+    /**
+     * Reads from the file until the buffer holds at least the given number of bytes.
+     *
+     * @param bytes number of bytes about to be taken from the buffer.
+     * @throws IOException if the file cannot be read, {@link EOFException} if it ends sooner.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                throw new EOFException("Recording ends at " + position());
+            }
+        }
+        buffer.flip();
+    }
+}
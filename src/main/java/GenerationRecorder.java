@@ -0,0 +1,438 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <p>
+ * Records a run of an engine generation by generation into a file, which can be replayed from any recorded
+ * generation by {@link GenerationReader}.
+ * </p>
+ * <p>
+ * Every {@code keyframeInterval}-th recorded generation is stored whole as a keyframe, the generations between
+ * the keyframes only as the cells which flipped since the previous recorded generation. Both are stored as the
+ * words of the bit-packed {@link BitBoard} XOR-ed with the words of the previous generation, or of an empty board
+ * for a keyframe. The words are compressed either into runs of zero and non-zero words, or into the gaps between
+ * the set bits, whichever is expected to be shorter, the latter winning for the sparse changes between most
+ * generations. All the numbers are little-endian, the varints are written 7 bits per byte, the lowest bits first.
+ * </p>
+ * <ol>
+ *     <li>Header - {@code int} magic number {@code "GOLR"}, {@code short} version, {@code byte} ordinal
+ *     of {@link Topology}, {@code int} rows, {@code int} columns, {@code int} keyframe interval, {@code short}
+ *     length of the rule followed by the rule in UTF-8, e.g. {@code B3/S23}.</li>
+ *     <li>Record - {@code byte} {@code 0} for a keyframe or {@code 1} for a delta, {@code long} generation,
+ *     {@code byte} encoding of the words:
+ *     <ul>
+ *         <li>{@code 0} - pairs of varint number of zero words and varint number of non-zero words, each pair
+ *         followed by the non-zero {@code long} words, until all the words of the game board are covered.</li>
+ *         <li>{@code 1} - for every set bit, counted from the lowest bit of the first word, varint number of zero
+ *         bits before it since the previous set bit plus one, followed by varint {@code 0}.</li>
+ *     </ul>
+ *     </li>
+ *     <li>Index - {@code byte} {@code 2}, {@code int} number of keyframes followed by the {@code long} generation
+ *     and the {@code long} position in the file of each keyframe, {@code long} last recorded generation,
+ *     {@code long} position of the index and {@code int} magic number. It is written on {@link #close()} only,
+ *     the recordings cut short without it are scanned by the reader instead.</li>
+ * </ol>
+ * <p>
+ * The ticking thread only copies the game board into one of a few preallocated boards and hands it over
+ * to a background writer thread, which encodes the generations and appends them to the file through a buffered
+ * {@link FileChannel}. The copy, a pass over the words of the board, is the price of letting the engine tick on
+ * while the writer encodes. If the writer falls behind by {@link #PENDING_GENERATIONS} generations, there is
+ * no free board and the generation is skipped, counted by {@link #getSkippedGenerations()}, so recording never
+ * stalls the ticks. The next delta then holds the cells which flipped since the last recorded generation, so
+ * every recorded generation is still replayed exactly. A lossless recorder makes the ticking thread wait
+ * for a free board instead, slowing the run down to the speed of the writer.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class GenerationRecorder implements Closeable {
+    /**
+     * Number of generations copied by the ticking thread which may wait for the writer thread, before
+     * the next ones are skipped or wait themselves.
+     */
+    public static final int PENDING_GENERATIONS = 4;
+    static final int MAGIC = 0x474F4C52;
+    static final short VERSION = 1;
+    static final byte KEYFRAME = 0;
+    static final byte DELTA = 1;
+    static final byte INDEX = 2;
+    static final byte WORD_RUNS = 0;
+    static final byte BIT_GAPS = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final int keyframeInterval;
+    private final boolean lossless;
+    private final BlockingQueue<Frame> free = new ArrayBlockingQueue<>(PENDING_GENERATIONS + 1);
+    private final BlockingQueue<Frame> pending = new ArrayBlockingQueue<>(PENDING_GENERATIONS + 1);
+    private final List<long[]> keyframes = new ArrayList<>();
+    private final Thread writer;
+    private Frame previous;
+    private long recorded;
+    private long lastGeneration = -1;
+    private long written;
+    private long skipped;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Creates the recording of the given engine, skipping the generations the writer cannot keep up with,
+     * and replacing the file if it exists. Nothing is recorded until {@link #record(TickEngine)} is called.
+     *
+     * @param path             target file.
+     * @param engine           engine to record.
+     * @param keyframeInterval number of recorded generations from one keyframe to the next.
+     * @throws IOException              if the file cannot be written.
+     * @throws IllegalArgumentException if the keyframe interval is not positive.
+     */
+    public GenerationRecorder(Path path, TickEngine engine, int keyframeInterval) throws IOException {
+        this(path, engine, keyframeInterval, false);
+    }
+
+    /**
+     * Creates the recording of the given engine, replacing the file if it exists. Nothing is recorded until
+     * {@link #record(TickEngine)} is called.
+     *
+     * @param path             target file.
+     * @param engine           engine to record.
+     * @param keyframeInterval number of recorded generations from one keyframe to the next.
+     * @param lossless         {@code true} to wait for the writer instead of skipping generations.
+     * @throws IOException              if the file cannot be written.
+     * @throws IllegalArgumentException if the keyframe interval is not positive.
+     */
+    public GenerationRecorder(Path path, TickEngine engine, int keyframeInterval, boolean lossless)
+            throws IOException {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException(keyframeInterval + " not allowed");
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.lossless = lossless;
+        int rows = engine.getRows();
+        int columns = engine.getColumns();
+        Topology topology = engine.getTopology();
+        byte[] rule = engine.getRule().toString().getBytes(StandardCharsets.UTF_8);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putShort(VERSION).put((byte) topology.ordinal()).putInt(rows).putInt(columns)
+                .putInt(keyframeInterval).putShort((short) rule.length).put(rule);
+        for (int i = 0; i < PENDING_GENERATIONS; i++) {
+            free.add(new Frame(rows, columns));
+        }
+        this.previous = new Frame(rows, columns);
+        this.writer = new Thread(this::write, "recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records the current generation of the engine, unless the writer thread is behind and the recorder
+     * is not lossless. Called on the ticking thread, between the ticks.
+     *
+     * @param engine engine of the same dimensions as the recorded one.
+     * @return {@code true} if the generation was recorded, {@code false} if it was skipped.
+     * @throws IOException if the writer thread failed to write an earlier generation.
+     */
+    public boolean record(TickEngine engine) throws IOException {
+        checkFailure();
+        Frame frame = free.poll();
+        if (frame == null) {
+            if (!lossless) {
+                skipped++;
+                return false;
+            }
+            try {
+                frame = free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Recording interrupted");
+            }
+        }
+        frame.copyFrom(engine);
+        //There is room for all the frames
+        pending.add(frame);
+        return true;
+    }
+
+    /**
+     * Returns the number of generations skipped because the writer thread was behind.
+     *
+     * @return number of skipped generations, always {@code 0} for a lossless recorder.
+     */
+    public long getSkippedGenerations() {
+        return skipped;
+    }
+
+    /**
+     * Waits for the writer thread to write all the recorded generations, writes the index of the keyframes
+     * and closes the file.
+     *
+     * @throws IOException if any of the generations or the index cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            //There is always room for the end unless the writer thread failed and exited
+            pending.offer(Frame.END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+            channel.close();
+            throw new InterruptedIOException("Recording interrupted");
+        }
+        try {
+            checkFailure();
+            writeIndex();
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Rethrows the failure of the writer thread, if any.
+     *
+     * @throws IOException failure of the writer thread.
+     */
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Recording failed", e);
+        }
+    }
+
+    /**
+     * Body of the writer thread, encoding the pending generations until the end of the recording.
+     */
+    private void write() {
+        try {
+            Frame frame;
+            while ((frame = pending.take()) != Frame.END) {
+                boolean keyframe = recorded % keyframeInterval == 0;
+                if (keyframe) {
+                    keyframes.add(new long[]{frame.generation, written + buffer.position()});
+                }
+                BitBoard base = keyframe ? null : previous.board;
+                boolean gaps = preferGaps(frame.board, base);
+                ensure(10);
+                buffer.put(keyframe ? KEYFRAME : DELTA).putLong(frame.generation).put(gaps ? BIT_GAPS : WORD_RUNS);
+                if (gaps) {
+                    encodeGaps(frame.board, base);
+                } else {
+                    encodeRuns(frame.board, base);
+                }
+                recorded++;
+                lastGeneration = frame.generation;
+                free.add(previous);
+                previous = frame;
+            }
+        } catch (IOException e) {
+            failure = e;
+            //Let a lossless ticking thread notice the failure instead of waiting for a free frame
+            free.add(previous);
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Recording interrupted");
+        }
+    }
+
+    /**
+     * Estimates whether the gaps between the set bits of the words of a game board XOR-ed with the words of
+     * the previous one are shorter than the runs of the words.
+     *
+     * @param board    game board to write.
+     * @param previous previous game board, or {@code null} to write the whole board.
+     * @return {@code true} to write the gaps between the set bits.
+     */
+    private static boolean preferGaps(BitBoard board, BitBoard previous) {
+        int length = board.getRows() * board.getWordsPerRow();
+        long bits = 0;
+        long words = 0;
+        for (int index = 0; index < length; index++) {
+            long word = delta(board, previous, index);
+            bits += Long.bitCount(word);
+            words += word != 0 ? 1 : 0;
+        }
+        if (bits == 0) {
+            return false;
+        }
+        long meanGap = ((long) length << 6) / bits;
+        int gapBytes = (64 - Long.numberOfLeadingZeros(meanGap) + 6) / 7;
+        return bits * gapBytes < words * Long.BYTES;
+    }
+
+    /**
+     * Writes the words of a game board XOR-ed with the words of the previous one as runs of zero and non-zero
+     * words.
+     *
+     * @param board    game board to write.
+     * @param previous previous game board, or {@code null} to write the whole board.
+     * @throws IOException if the file cannot be written.
+     */
+    private void encodeRuns(BitBoard board, BitBoard previous) throws IOException {
+        int length = board.getRows() * board.getWordsPerRow();
+        int index = 0;
+        while (index < length) {
+            int zeros = 0;
+            while (index + zeros < length && delta(board, previous, index + zeros) == 0) {
+                zeros++;
+            }
+            int literals = 0;
+            int literal = index + zeros;
+            while (literal + literals < length && delta(board, previous, literal + literals) != 0) {
+                literals++;
+            }
+            ensure(10);
+            putVarint(zeros);
+            putVarint(literals);
+            for (int i = literal; i < literal + literals; i++) {
+                ensure(Long.BYTES);
+                buffer.putLong(delta(board, previous, i));
+            }
+            index = literal + literals;
+        }
+    }
+
+    /**
+     * Writes the words of a game board XOR-ed with the words of the previous one as the gaps between their set
+     * bits.
+     *
+     * @param board    game board to write.
+     * @param previous previous game board, or {@code null} to write the whole board.
+     * @throws IOException if the file cannot be written.
+     */
+    private void encodeGaps(BitBoard board, BitBoard previous) throws IOException {
+        int length = board.getRows() * board.getWordsPerRow();
+        long next = 0;
+        for (int index = 0; index < length; index++) {
+            long word = delta(board, previous, index);
+            while (word != 0) {
+                long bit = ((long) index << 6) + Long.numberOfTrailingZeros(word);
+                ensure(10);
+                putVarint(bit - next + 1);
+                next = bit + 1;
+                word &= word - 1;
+            }
+        }
+        ensure(1);
+        putVarint(0);
+    }
+
+    /**
+     * Returns a word of a game board XOR-ed with the same word of the previous one.
+     *
+     * @param board    game board.
+     * @param previous previous game board, or {@code null} for an empty one.
+     * @param index    index of the word.
+     * @return flipped cells of the word.
+     */
+    private static long delta(BitBoard board, BitBoard previous, int index) {
+        return previous == null ? board.getWord(index) : board.getWord(index) ^ previous.getWord(index);
+    }
+
+    /**
+     * Writes a non-negative number in 7 bits per byte, the lowest bits first, the highest bit of a byte set
+     * if more bytes follow.
+     *
+     * @param value non-negative number.
+     */
+    private void putVarint(long value) {
+        while (value >= 0x80) {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the index of the keyframes at the end of the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeIndex() throws IOException {
+        long position = written + buffer.position();
+        ensure(5);
+        buffer.put(INDEX).putInt(keyframes.size());
+        for (long[] keyframe : keyframes) {
+            ensure(2 * Long.BYTES);
+            buffer.putLong(keyframe[0]).putLong(keyframe[1]);
+        }
+        ensure(2 * Long.BYTES + Integer.BYTES);
+        buffer.putLong(lastGeneration).putLong(position).putInt(MAGIC);
+    }
+
+    /**
+     * Makes room in the buffer for the given number of bytes, writing it out if needed.
+     *
+     * @param bytes number of bytes about to be put into the buffer.
+     * @throws IOException if the file cannot be written.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes out the buffer.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * A copy of a generation on its way from the ticking thread to the writer thread.
+     */
+    private static final class Frame {
+        /**
+         * Marks the end of the recording.
+         */
+        static final Frame END = new Frame(1, 1);
+
+        final BitBoard board;
+        long generation;
+
+        Frame(int rows, int columns) {
+            this.board = new BitBoard(rows, columns);
+        }
+
+        /**
+         * Copies the current generation of an engine of the same dimensions.
+         *
+         * @param engine source engine.
+         */
+        void copyFrom(TickEngine engine) {
+            if (engine instanceof AbstractBitTickEngine) {
+                board.copyFrom(((AbstractBitTickEngine) engine).getBoard());
+            } else {
+                for (int row = 0; row < board.getRows(); row++) {
+                    for (int col = 0; col < board.getColumns(); col++) {
+                        board.set(row, col, engine.getState(row, col));
+                    }
+                }
+            }
+            generation = engine.getGeneration();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * <p>
+ * Exchanges the halo rows of a strip of a game board with the workers owning the strips above and below it,
+ * for {@link StripWorker}.
+ * </p>
+ * <p>
+ * The local game board of a worker holds its strip, preceded by the {@code halo} last rows of the strip above
+ * and followed by the {@code halo} first rows of the strip below, if there are such neighbours. An exchange sends
+ * the first and the last {@code halo} rows of the strip to the neighbours and receives their rows into the halos,
+ * each direction as a single message of all the rows. Both neighbours are served at once by a {@link Selector}
+ * on non-blocking channels, so the workers never wait for each other to read, whatever the size of the halos.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class HaloExchange implements Closeable {
+    private final SocketChannel up;
+    private final SocketChannel down;
+    private final int halo;
+    private final int stripRows;
+    private final int wordsPerRow;
+    private final Selector selector;
+    private final ByteBuffer sendUp;
+    private final ByteBuffer sendDown;
+    private final ByteBuffer receiveUp;
+    private final ByteBuffer receiveDown;
+    private long exchanges;
+    private long bytes;
+
+    /**
+     * Creates an exchange over connected channels, which are switched to the non-blocking mode.
+     *
+     * @param up          channel to the worker owning the strip above, or {@code null} if there is none.
+     * @param down        channel to the worker owning the strip below, or {@code null} if there is none.
+     * @param halo        number of rows of each halo.
+     * @param stripRows   number of rows of the strip, at least {@code halo}.
+     * @param wordsPerRow number of words of a row of the game board.
+     * @throws IOException if the channels cannot be registered.
+     */
+    public HaloExchange(SocketChannel up, SocketChannel down, int halo, int stripRows, int wordsPerRow)
+            throws IOException {
+        this.up = up;
+        this.down = down;
+        this.halo = halo;
+        this.stripRows = stripRows;
+        this.wordsPerRow = wordsPerRow;
+        this.selector = Selector.open();
+        int size = halo * wordsPerRow * Long.BYTES;
+        this.sendUp = up != null ? ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN) : null;
+        this.receiveUp = up != null ? ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN) : null;
+        this.sendDown = down != null ? ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN) : null;
+        this.receiveDown = down != null ? ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN) : null;
+        if (up != null) {
+            up.configureBlocking(false);
+            up.register(selector, 0, Boolean.TRUE);
+        }
+        if (down != null) {
+            down.configureBlocking(false);
+            down.register(selector, 0, Boolean.FALSE);
+        }
+    }
+
+    /**
+     * Returns the number of halo rows above the strip on the local game board.
+     *
+     * @return number of rows, {@code 0} if there is no strip above.
+     */
+    public int getTop() {
+        return up != null ? halo : 0;
+    }
+
+    /**
+     * Returns the number of rows of the local game board.
+     *
+     * @return strip rows together with the halos.
+     */
+    public int getLocalRows() {
+        return getTop() + stripRows + (down != null ? halo : 0);
+    }
+
+    /**
+     * Returns the number of exchanges done so far.
+     *
+     * @return number of exchanges.
+     */
+    public long getExchanges() {
+        return exchanges;
+    }
+
+    /**
+     * Returns the number of bytes sent so far.
+     *
+     * @return number of bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Sends the edge rows of the strip to the neighbours and fills the halos with theirs.
+     *
+     * @param board local game board of {@link #getLocalRows()} rows.
+     * @throws IOException if a neighbour cannot be reached or has closed its channel.
+     */
+    public void exchange(BitBoard board) throws IOException {
+        int top = getTop();
+        if (up != null) {
+            pack(board, top, sendUp);
+            receiveUp.clear();
+        }
+        if (down != null) {
+            pack(board, top + stripRows - halo, sendDown);
+            receiveDown.clear();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        int pending = selector.keys().size() * 2;
+        while (pending > 0) {
+            selector.select();
+            for (SelectionKey key : selector.selectedKeys()) {
+                boolean isUp = (Boolean) key.attachment();
+                SocketChannel channel = (SocketChannel) key.channel();
+                ByteBuffer send = isUp ? sendUp : sendDown;
+                ByteBuffer receive = isUp ? receiveUp : receiveDown;
+                if (key.isValid() && key.isWritable()) {
+                    bytes += channel.write(send);
+                    if (!send.hasRemaining()) {
+                        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                        pending--;
+                    }
+                }
+                if (key.isValid() && key.isReadable()) {
+                    if (channel.read(receive) < 0) {
+                        throw new EOFException((isUp ? "Upper" : "Lower") + " neighbour closed the halo channel");
+                    }
+                    if (!receive.hasRemaining()) {
+                        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                        pending--;
+                    }
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+        if (up != null) {
+            unpack(receiveUp, board, 0);
+        }
+        if (down != null) {
+            unpack(receiveDown, board, top + stripRows);
+        }
+        exchanges++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        selector.close();
+        if (up != null) {
+            up.close();
+        }
+        if (down != null) {
+            down.close();
+        }
+    }
+
+    /**
+     * Copies {@code halo} rows of a game board into a buffer and prepares it for sending.
+     *
+     * @param board   local game board.
+     * @param fromRow first row to copy.
+     * @param buffer  target buffer.
+     */
+    private void pack(BitBoard board, int fromRow, ByteBuffer buffer) {
+        buffer.clear();
+        for (int index = fromRow * wordsPerRow, end = (fromRow + halo) * wordsPerRow; index < end; index++) {
+            buffer.putLong(board.getWord(index));
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Copies the received rows from a buffer into {@code halo} rows of a game board.
+     *
+     * @param buffer  received buffer.
+     * @param board   local game board.
+     * @param fromRow first row to fill.
+     */
+    private void unpack(ByteBuffer buffer, BitBoard board, int fromRow) {
+        buffer.flip();
+        for (int index = fromRow * wordsPerRow, end = (fromRow + halo) * wordsPerRow; index < end; index++) {
+            board.setWord(index, buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,670 @@
+import java.util.Arrays;
+
+/**
+ * <p>
+ * {@link TickEngine} implementing Bill Gosper's HashLife algorithm on an unbounded universe.
+ * </p>
+ * <p>
+ * The universe is a quadtree of square nodes, each of {@code 2^level x 2^level} {@link Cell}s. Nodes are
+ * canonicalized in a hash table, so every distinct pattern exists only once no matter how many times it appears,
+ * and empty regions of any size cost a single node. Every node memoizes its center advanced by {@code 2^j}
+ * generations, therefore repeating and sparse patterns are computed once, and the universe can jump
+ * {@code 2^k} generations in a single {@link #advancePow2(int)} step.
+ * </p>
+ * <p>
+ * Unlike the other engines the universe has no edges, so {@link Topology} does not apply. The rows and columns
+ * of this engine only describe the window {@code [0, rows) x [0, columns)} used by {@link #load(int[][])},
+ * {@link #copyTo(int[][])} and {@link #clear()}, cells may live and be read outside of it as well.
+ * </p>
+ *
+ * @author Jan Gajda
+ * @see <a href="https://en.wikipedia.org/wiki/Hashlife">https://en.wikipedia.org/wiki/Hashlife</a>
+ */
+public final class HashLifeEngine implements TickEngine {
+    /**
+     * The highest level the root may grow to, keeping all the coordinates within {@code long}.
+     */
+    private static final int MAX_LEVEL = 60;
+    /**
+     * The lowest level of the root, making the base case of {@link #successor(Node, int)} always reachable.
+     */
+    private static final int MIN_LEVEL = 3;
+    /**
+     * Default number of canonical nodes above which unreachable nodes are dropped between steps.
+     */
+    private static final int DEFAULT_MAX_NODES = 1 << 22;
+    /**
+     * Level of the nodes of 64 x 64 cells, each of them covering a single word of the rows of a {@link BitBoard}.
+     */
+    private static final int WORD_LEVEL = 6;
+
+    private final int rows;
+    private final int columns;
+    private final int maxNodes;
+    private final Node dead = new Node(0);
+    private final Node alive = new Node(1);
+    private final Node[] empty = new Node[MAX_LEVEL + 2];
+    private Node[] table;
+    private int nodes;
+    private Node root;
+    private long originRow;
+    private long originCol;
+    private long generation;
+
+    /**
+     * Creates an engine with an empty universe.
+     *
+     * @param rows    number of rows of the window.
+     * @param columns number of columns of the window.
+     */
+    public HashLifeEngine(int rows, int columns) {
+        this(rows, columns, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Creates an engine with an empty universe.
+     *
+     * @param rows     number of rows of the window.
+     * @param columns  number of columns of the window.
+     * @param maxNodes number of canonical nodes above which unreachable nodes are dropped between steps.
+     */
+    public HashLifeEngine(int rows, int columns, int maxNodes) {
+        this.rows = rows;
+        this.columns = columns;
+        this.maxNodes = maxNodes;
+        clear();
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getState(int row, int col) {
+        long r = row - originRow;
+        long c = col - originCol;
+        long size = 1L << root.level;
+        if (r < 0 || c < 0 || r >= size || c >= size) {
+            return 0;
+        }
+        Node node = root;
+        while (node.level > 0) {
+            long half = 1L << (node.level - 1);
+            if (r < half) {
+                node = c < half ? node.nw : node.ne;
+            } else {
+                node = c < half ? node.sw : node.se;
+                r -= half;
+            }
+            c = c < half ? c : c - half;
+        }
+        return (int) node.population;
+    }
+
+    @Override
+    public void setState(int row, int col, int state) {
+        if (state != 1 && !covers(row, col)) {
+            return;
+        }
+        while (!covers(row, col)) {
+            expandRoot();
+        }
+        root = set(root, row - originRow, col - originCol, state == 1);
+    }
+
+    /**
+     * Performs a single tick, advancing the whole universe by one generation.
+     */
+    @Override
+    public void tick() {
+        advancePow2(0);
+    }
+
+    /**
+     * Advances the whole universe by {@code 2^k} generations in a single step.
+     *
+     * @param k binary logarithm of the number of generations.
+     * @throws IllegalStateException if the universe would grow beyond the supported coordinates.
+     */
+    public void advancePow2(int k) {
+        //The pattern may grow by one cell per generation, so it has to fit the center half of the root
+        while (root.level < k + 2 || !isPadded(root)) {
+            expandRoot();
+        }
+        expandRoot();
+        originRow += 1L << (root.level - 2);
+        originCol += 1L << (root.level - 2);
+        root = successor(root, k);
+        generation += 1L << k;
+        if (nodes > maxNodes) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * Advances the whole universe by the given number of generations, jumping by the powers of two
+     * the number consists of.
+     *
+     * @param generations number of generations.
+     */
+    public void advance(long generations) {
+        for (int k = 63 - Long.numberOfLeadingZeros(generations); k >= 0; k--) {
+            if ((generations & (1L << k)) != 0) {
+                advancePow2(k);
+            }
+        }
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Kills every {@link Cell} of the universe, forgets all the memoized results and resets the generation counter.
+     */
+    @Override
+    public void clear() {
+        table = new Node[1 << 16];
+        nodes = 0;
+        for (int level = 1; level < empty.length; level++) {
+            empty[level] = null;
+        }
+        empty[0] = dead;
+        root = empty(MIN_LEVEL);
+        originRow = 0;
+        originCol = 0;
+        generation = 0;
+    }
+
+    /**
+     * Returns the number of alive {@link Cell}s in the whole universe, including the ones outside of the window.
+     *
+     * @return number of alive cells.
+     */
+    @Override
+    public long getPopulation() {
+        return root.population;
+    }
+
+    @Override
+    public void load(int[][] board) {
+        clear();
+        root = build(board, 0, 0, windowLevel());
+    }
+
+    /**
+     * Loads the game board straight from its words, skipping the empty blocks of 64 x 64 {@link Cell}s
+     * without looking at their cells.
+     *
+     * @param board      bit-packed game board of the window.
+     * @param generation generation the game board was saved at.
+     */
+    @Override
+    public void load(BitBoard board, long generation) {
+        clear();
+        root = build(board, 0, 0, windowLevel());
+        this.generation = generation;
+    }
+
+    @Override
+    public void copyTo(int[][] board) {
+        for (int row = 0; row < rows; row++) {
+            Arrays.fill(board[row], 0, columns, 0);
+        }
+        copyTo(board, root, originRow, originCol);
+    }
+
+    /**
+     * Returns the number of canonical nodes currently held by the engine.
+     *
+     * @return number of nodes.
+     */
+    public int getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Computes the center of a node advanced by {@code 2^j} generations, memoizing the result in the node.
+     *
+     * @param node node of level 2 or higher.
+     * @param j    binary logarithm of the number of generations, at most {@code node.level - 2}.
+     * @return node of {@code node.level - 1}, the center of the node after {@code 2^j} generations.
+     */
+    private Node successor(Node node, int j) {
+        if (node.population == 0) {
+            return empty(node.level - 1);
+        }
+        j = Math.min(j, node.level - 2);
+        if (node.results != null && node.results[j] != null) {
+            return node.results[j];
+        }
+        Node result;
+        if (node.level == 2) {
+            result = baseCase(node);
+        } else {
+            //Nine overlapping subnodes of level - 1, each advanced and shrunk to its center
+            Node c1 = successor(node.nw, j);
+            Node c2 = successor(join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw), j);
+            Node c3 = successor(node.ne, j);
+            Node c4 = successor(join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne), j);
+            Node c5 = successor(join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw), j);
+            Node c6 = successor(join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne), j);
+            Node c7 = successor(node.sw, j);
+            Node c8 = successor(join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw), j);
+            Node c9 = successor(node.se, j);
+            if (j < node.level - 2) {
+                //Already advanced far enough, only the centers of the four combined quadrants are needed
+                result = join(
+                        join(c1.se, c2.sw, c4.ne, c5.nw),
+                        join(c2.se, c3.sw, c5.ne, c6.nw),
+                        join(c4.se, c5.sw, c7.ne, c8.nw),
+                        join(c5.se, c6.sw, c8.ne, c9.nw)
+                );
+            } else {
+                //Advancing the four combined quadrants once more doubles the number of generations
+                result = join(
+                        successor(join(c1, c2, c4, c5), j),
+                        successor(join(c2, c3, c5, c6), j),
+                        successor(join(c4, c5, c7, c8), j),
+                        successor(join(c5, c6, c8, c9), j)
+                );
+            }
+        }
+        if (node.results == null) {
+            node.results = new Node[node.level - 1];
+        }
+        node.results[j] = result;
+        return result;
+    }
+
+    /**
+     * Applies the rules of the "Game Of Life" to the center 2 x 2 cells of a 4 x 4 node.
+     *
+     * @param node node of level 2.
+     * @return node of level 1 with the center of the node after one generation.
+     */
+    private Node baseCase(Node node) {
+        int cells = 0;
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                Node quadrant = row < 2
+                        ? (col < 2 ? node.nw : node.ne)
+                        : (col < 2 ? node.sw : node.se);
+                Node leaf = (row & 1) == 0
+                        ? ((col & 1) == 0 ? quadrant.nw : quadrant.ne)
+                        : ((col & 1) == 0 ? quadrant.sw : quadrant.se);
+                cells |= (int) leaf.population << (row * 4 + col);
+            }
+        }
+        return join(
+                leaf(cells, 1, 1),
+                leaf(cells, 1, 2),
+                leaf(cells, 2, 1),
+                leaf(cells, 2, 2)
+        );
+    }
+
+    /**
+     * Returns the leaf of the next generation of a {@link Cell} inside a 4 x 4 block.
+     *
+     * @param cells 4 x 4 block of cells, the bit {@code row * 4 + col} holding the cell at {@code (row, col)}.
+     * @param row   row number of a target {@code Cell}, 1 or 2.
+     * @param col   column number of a target {@code Cell}, 1 or 2.
+     * @return leaf representing the next state of the cell.
+     */
+    private Node leaf(int cells, int row, int col) {
+        int sum = 0;
+        for (int i = -1; i < 2; i++) {
+            for (int j = -1; j < 2; j++) {
+                if (i != 0 || j != 0) {
+                    sum += (cells >>> ((row + i) * 4 + col + j)) & 1;
+                }
+            }
+        }
+        int state = (cells >>> (row * 4 + col)) & 1;
+        return sum == 3 || (state == 1 && sum == 2) ? alive : dead;
+    }
+
+    /**
+     * Returns the canonical node with the given quadrants, creating it if it does not exist yet.
+     *
+     * @param nw north-western quadrant.
+     * @param ne north-eastern quadrant.
+     * @param sw south-western quadrant.
+     * @param se south-eastern quadrant.
+     * @return canonical node one level above the quadrants.
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        int hash = ((nw.hash * 31 + ne.hash) * 31 + sw.hash) * 31 + se.hash;
+        int index = bucket(hash, table.length);
+        for (Node node = table[index]; node != null; node = node.next) {
+            if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+                return node;
+            }
+        }
+        Node node = new Node(nw, ne, sw, se, hash);
+        node.next = table[index];
+        table[index] = node;
+        if (++nodes > table.length - (table.length >>> 2)) {
+            resize(table.length << 1);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the canonical empty node of the given level.
+     *
+     * @param level level of the node.
+     * @return node of dead cells only.
+     */
+    private Node empty(int level) {
+        if (empty[level] == null) {
+            Node quadrant = empty(level - 1);
+            empty[level] = join(quadrant, quadrant, quadrant, quadrant);
+        }
+        return empty[level];
+    }
+
+    /**
+     * Surrounds the root with empty space, doubling its size and keeping it in the center.
+     *
+     * @throws IllegalStateException if the root would grow beyond the supported coordinates.
+     */
+    private void expandRoot() {
+        if (root.level >= MAX_LEVEL) {
+            throw new IllegalStateException("Universe larger than 2^" + MAX_LEVEL + " not supported");
+        }
+        Node border = empty(root.level - 1);
+        long half = 1L << (root.level - 1);
+        root = join(
+                join(border, border, border, root.nw),
+                join(border, border, root.ne, border),
+                join(border, root.sw, border, border),
+                join(root.se, border, border, border)
+        );
+        originRow -= half;
+        originCol -= half;
+    }
+
+    /**
+     * Checks whether all the alive cells of a node lie within its center half.
+     *
+     * @param node node of level 2 or higher.
+     * @return {@code true} if the outer ring of the node is empty.
+     */
+    private static boolean isPadded(Node node) {
+        return node.nw.se.population + node.ne.sw.population + node.sw.ne.population + node.se.nw.population
+                == node.population;
+    }
+
+    /**
+     * Checks whether a cell lies within the root.
+     *
+     * @param row row number of a cell.
+     * @param col column number of a cell.
+     * @return {@code true} if the root contains the cell.
+     */
+    private boolean covers(long row, long col) {
+        long size = 1L << root.level;
+        return row >= originRow && col >= originCol && row - originRow < size && col - originCol < size;
+    }
+
+    /**
+     * Returns the node with a single cell changed.
+     *
+     * @param node  target node.
+     * @param row   row number of the cell relative to the node.
+     * @param col   column number of the cell relative to the node.
+     * @param state {@code true} for an alive cell.
+     * @return canonical node with the changed cell.
+     */
+    private Node set(Node node, long row, long col, boolean state) {
+        if (node.level == 0) {
+            return state ? alive : dead;
+        }
+        long half = 1L << (node.level - 1);
+        if (row < half) {
+            if (col < half) {
+                return join(set(node.nw, row, col, state), node.ne, node.sw, node.se);
+            }
+            return join(node.nw, set(node.ne, row, col - half, state), node.sw, node.se);
+        }
+        if (col < half) {
+            return join(node.nw, node.ne, set(node.sw, row - half, col, state), node.se);
+        }
+        return join(node.nw, node.ne, node.sw, set(node.se, row - half, col - half, state));
+    }
+
+    /**
+     * Builds a node from the part of a 2D array starting at the given position. Cells outside the window
+     * are dead.
+     *
+     * @param board 2D array representing state of each {@code Cell} of the window.
+     * @param row   row number of the first cell of the node.
+     * @param col   column number of the first cell of the node.
+     * @param level level of the node.
+     * @return canonical node.
+     */
+    private Node build(int[][] board, int row, int col, int level) {
+        if (row >= rows || col >= columns) {
+            return empty(level);
+        }
+        if (level == 0) {
+            return board[row][col] == 1 ? alive : dead;
+        }
+        int half = 1 << (level - 1);
+        return join(
+                build(board, row, col, level - 1),
+                build(board, row, col + half, level - 1),
+                build(board, row + half, col, level - 1),
+                build(board, row + half, col + half, level - 1)
+        );
+    }
+
+    /**
+     * Builds a node from the part of a bit-packed game board starting at the given position. Cells outside
+     * the game board are dead.
+     *
+     * @param board bit-packed game board.
+     * @param row   row number of the first cell of the node.
+     * @param col   column number of the first cell of the node.
+     * @param level level of the node.
+     * @return canonical node.
+     */
+    private Node build(BitBoard board, int row, int col, int level) {
+        if (row >= board.getRows() || col >= board.getColumns()) {
+            return empty(level);
+        }
+        if (level == 0) {
+            return board.get(row, col) == 1 ? alive : dead;
+        }
+        if (level == WORD_LEVEL) {
+            //The node covers the same word of up to 64 rows
+            int wordsPerRow = board.getWordsPerRow();
+            int toRow = Math.min(row + Long.SIZE, board.getRows());
+            long any = 0;
+            for (int r = row; r < toRow; r++) {
+                any |= board.getWord(r * wordsPerRow + (col >>> 6));
+            }
+            if (any == 0) {
+                return empty(level);
+            }
+        }
+        int half = 1 << (level - 1);
+        return join(
+                build(board, row, col, level - 1),
+                build(board, row, col + half, level - 1),
+                build(board, row + half, col, level - 1),
+                build(board, row + half, col + half, level - 1)
+        );
+    }
+
+    /**
+     * Returns the level of the smallest root covering the whole window.
+     *
+     * @return level of at least {@link #MIN_LEVEL}.
+     */
+    private int windowLevel() {
+        int level = MIN_LEVEL;
+        while ((1L << level) < Math.max(rows, columns)) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Copies the alive cells of a node lying within the window into a 2D array.
+     *
+     * @param board target 2D array.
+     * @param node  source node.
+     * @param row   row number of the first cell of the node.
+     * @param col   column number of the first cell of the node.
+     */
+    private void copyTo(int[][] board, Node node, long row, long col) {
+        long size = 1L << node.level;
+        if (node.population == 0 || row >= rows || col >= columns || row + size <= 0 || col + size <= 0) {
+            return;
+        }
+        if (node.level == 0) {
+            board[(int) row][(int) col] = 1;
+            return;
+        }
+        long half = size >>> 1;
+        copyTo(board, node.nw, row, col);
+        copyTo(board, node.ne, row, col + half);
+        copyTo(board, node.sw, row + half, col);
+        copyTo(board, node.se, row + half, col + half);
+    }
+
+    /**
+     * Rebuilds the hash table with the nodes reachable from the root only, dropping all the memoized results.
+     */
+    private void collectGarbage() {
+        table = new Node[table.length];
+        nodes = 0;
+        for (int level = 1; level < empty.length; level++) {
+            empty[level] = null;
+        }
+        reinsert(root);
+    }
+
+    /**
+     * Puts a node and all its descendants back to the hash table.
+     *
+     * @param node node to keep.
+     */
+    private void reinsert(Node node) {
+        if (node.level == 0 || contains(node)) {
+            return;
+        }
+        node.results = null;
+        reinsert(node.nw);
+        reinsert(node.ne);
+        reinsert(node.sw);
+        reinsert(node.se);
+        int index = bucket(node.hash, table.length);
+        node.next = table[index];
+        table[index] = node;
+        if (++nodes > table.length - (table.length >>> 2)) {
+            resize(table.length << 1);
+        }
+        if (node.population == 0 && empty[node.level] == null) {
+            empty[node.level] = node;
+        }
+    }
+
+    /**
+     * Checks whether the very node is already in the hash table.
+     *
+     * @param node target node.
+     * @return {@code true} if the hash table holds the node.
+     */
+    private boolean contains(Node node) {
+        for (Node other = table[bucket(node.hash, table.length)]; other != null; other = other.next) {
+            if (other == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Redistributes the nodes into a hash table of a new capacity.
+     *
+     * @param capacity new capacity, a power of two.
+     */
+    private void resize(int capacity) {
+        Node[] resized = new Node[capacity];
+        for (Node head : table) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                int index = bucket(node.hash, capacity);
+                node.next = resized[index];
+                resized[index] = node;
+                node = next;
+            }
+        }
+        table = resized;
+    }
+
+    /**
+     * Spreads the bits of a hash code over the buckets of the hash table.
+     *
+     * @param hash     hash code of a node.
+     * @param capacity capacity of the hash table, a power of two.
+     * @return index of the bucket.
+     */
+    private static int bucket(int hash, int capacity) {
+        int mixed = hash * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & (capacity - 1);
+    }
+
+    /**
+     * Quadtree node of {@code 2^level x 2^level} cells. Leaves of level 0 are single cells.
+     */
+    private static final class Node {
+        private final int level;
+        private final Node nw;
+        private final Node ne;
+        private final Node sw;
+        private final Node se;
+        private final long population;
+        private final int hash;
+        /**
+         * Next node in the same bucket of the hash table.
+         */
+        private Node next;
+        /**
+         * Memoized centers of this node advanced by {@code 2^j} generations, indexed by {@code j}.
+         */
+        private Node[] results;
+
+        private Node(int state) {
+            this.level = 0;
+            this.nw = null;
+            this.ne = null;
+            this.sw = null;
+            this.se = null;
+            this.population = state;
+            this.hash = state + 1;
+        }
+
+        private Node(Node nw, Node ne, Node sw, Node se, int hash) {
+            this.level = nw.level + 1;
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            this.hash = hash;
+        }
+    }
+}
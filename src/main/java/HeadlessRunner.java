@@ -0,0 +1,349 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * <p>
+ * Runs simulations without any display, as fast as the CPU allows.
+ * </p>
+ * <p>
+ * Unlike {@link GameOfLife} it needs no JavaFX toolkit and no frame timer, so it can be used on servers
+ * either as a library, through {@link #run(TickEngine, long)}, or from the command line:
+ * </p>
+ * <pre>
+ * java -cp GameOfLife.jar HeadlessRunner [--size 1024] [--generations 1000] [--pattern random]
+ *      [--engine bit] [--parallelism 4] [--topology dead] [--rule B3/S23] [--seed 42]
+ *      [--load board.snapshot] [--save board.snapshot] [--checkpoint 10000] [--import pattern.rle]
+ *      [--history 1024] [--metrics 10] [--record run.rec] [--keyframes 100] [--record-all false]
+ *      [--replay run.rec] [--replay-from 500]
+ * </pre>
+ * <p>
+ * A run can be resumed from a {@link BoardSnapshot} given by {@code --load}, instead of seeding a pattern.
+ * The board is saved to the file given by {@code --save} at the end of the run, and also every
+ * {@code --checkpoint} generations if given. A pattern file in the RLE or Life 1.06 format given by
+ * {@code --import} is loaded by {@link PatternLoader} in the center of the board, and runs by the rule named
+ * in the pattern unless {@code --rule} is given.
+ * </p>
+ * <p>
+ * With {@code --history} every generation is checked by {@link CycleDetector} against the given number of recent
+ * generations, and the run stops as soon as the board settles into a still life or an oscillator.
+ * </p>
+ * <p>
+ * With {@code --metrics} every tick is measured by {@link TickMetrics}, exposed through JMX, and a summary is
+ * logged at the given period in seconds, {@code 0} for JMX only.
+ * </p>
+ * <p>
+ * With {@code --record} the generations of the run are recorded by {@link GenerationRecorder}, with a keyframe
+ * every {@code --keyframes} recorded generations. The generations the writer of the recording cannot keep up with
+ * are skipped and counted, unless {@code --record-all true} makes the run wait for it. A run can also be resumed
+ * from a generation of a recording given by {@code --replay}, the one given by {@code --replay-from} or the last
+ * recorded one.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class HeadlessRunner {
+    private HeadlessRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = 1024;
+        long generations = 1000;
+        int iteration = 0;
+        String engineName = "bit";
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Topology topology = Topology.DEAD;
+        Rule rule = null;
+        Random generator = new Random();
+        Path loadPath = null;
+        Path importPath = null;
+        Path savePath = null;
+        long checkpoint = 0;
+        int history = 0;
+        int metricsPeriod = -1;
+        Path recordPath = null;
+        int keyframeInterval = 100;
+        boolean recordAll = false;
+        Path replayPath = null;
+        long replayFrom = -1;
+        TickEngine engine;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException(args[i] + " requires a value");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--size":
+                        size = Integer.parseInt(value);
+                        break;
+                    case "--generations":
+                        generations = Long.parseLong(value);
+                        break;
+                    case "--pattern":
+                        iteration = Patterns.forName(value);
+                        break;
+                    case "--engine":
+                        engineName = value;
+                        break;
+                    case "--parallelism":
+                        parallelism = Integer.parseInt(value);
+                        break;
+                    case "--topology":
+                        topology = Topology.valueOf(value.toUpperCase());
+                        break;
+                    case "--rule":
+                        rule = Rule.parse(value);
+                        break;
+                    case "--seed":
+                        generator = new Random(Long.parseLong(value));
+                        break;
+                    case "--load":
+                        loadPath = Paths.get(value);
+                        break;
+                    case "--import":
+                        importPath = Paths.get(value);
+                        break;
+                    case "--save":
+                        savePath = Paths.get(value);
+                        break;
+                    case "--checkpoint":
+                        checkpoint = Long.parseLong(value);
+                        break;
+                    case "--history":
+                        history = Integer.parseInt(value);
+                        break;
+                    case "--metrics":
+                        metricsPeriod = Integer.parseInt(value);
+                        break;
+                    case "--record":
+                        recordPath = Paths.get(value);
+                        break;
+                    case "--keyframes":
+                        keyframeInterval = Integer.parseInt(value);
+                        break;
+                    case "--record-all":
+                        recordAll = Boolean.parseBoolean(value);
+                        break;
+                    case "--replay":
+                        replayPath = Paths.get(value);
+                        break;
+                    case "--replay-from":
+                        replayFrom = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i] + " not allowed");
+                }
+            }
+            if (importPath != null) {
+                Rule patternRule = PatternLoader.readRule(importPath);
+                if (rule == null) {
+                    rule = patternRule;
+                } else if (patternRule != null && !patternRule.equals(rule)) {
+                    System.err.println("Running the " + patternRule + " pattern by " + rule + " as given by --rule");
+                }
+            }
+            if (rule == null) {
+                rule = Rule.CONWAY;
+            }
+            engine = TickEngines.create(engineName, size, size, topology, parallelism, rule);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: HeadlessRunner [--size N] [--generations N] [--pattern random|queenbee|tumbler]"
+                    + " [--engine " + String.join("|", TickEngines.NAMES) + "] [--parallelism N]"
+                    + " [--topology dead|toroidal] [--rule B3/S23] [--seed N] [--load FILE] [--save FILE]"
+                    + " [--checkpoint N] [--import FILE] [--history N] [--metrics SECONDS] [--record FILE]"
+                    + " [--keyframes N] [--record-all true|false] [--replay FILE] [--replay-from N]");
+            System.exit(1);
+            return;
+        }
+
+        GenerationRecorder recorder = null;
+        try {
+            if (replayPath != null || loadPath != null) {
+                try {
+                    if (replayPath != null) {
+                        try (GenerationReader reader = new GenerationReader(replayPath)) {
+                            reader.read(replayFrom >= 0 ? replayFrom : reader.getLastGeneration()).restore(engine);
+                        }
+                    } else {
+                        BoardSnapshot.restore(loadPath, engine);
+                    }
+                } catch (IllegalArgumentException e) {
+                    //The engine was built from the options, which have to match the resumed game board
+                    System.err.println(e.getMessage());
+                    System.err.println("Resume with the --size, --rule and --topology the game board was saved with");
+                    System.exit(1);
+                    return;
+                }
+            } else if (importPath != null) {
+                PatternLoader.load(importPath, engine);
+            } else {
+                Patterns.seed(iteration, engine, generator);
+            }
+            if (savePath == null || checkpoint <= 0) {
+                checkpoint = generations;
+            }
+            TickMetrics metrics = null;
+            if (metricsPeriod >= 0) {
+                metrics = new TickMetrics();
+                metrics.setEnabled(true);
+                metrics.register();
+                if (metricsPeriod > 0) {
+                    metrics.startLogging(metricsPeriod);
+                }
+            }
+            CycleDetector detector = history > 0 ? new CycleDetector(history) : null;
+            if (detector != null) {
+                detector.observe(engine);
+            }
+            if (recordPath != null) {
+                recorder = new GenerationRecorder(recordPath, engine, keyframeInterval, recordAll);
+                recorder.record(engine);
+            }
+            long done = 0;
+            long elapsed = 0;
+            Cycle cycle = null;
+            while (done < generations && cycle == null) {
+                RunResult part = run(engine, Math.min(checkpoint, generations - done), detector, metrics, recorder);
+                done += part.getGenerations();
+                elapsed += part.getElapsedNanos();
+                cycle = part.getCycle();
+                if (savePath != null) {
+                    BoardSnapshot.of(engine).save(savePath);
+                }
+            }
+            if (recorder != null) {
+                recorder.close();
+                if (recorder.getSkippedGenerations() > 0) {
+                    System.out.println("Skipped " + recorder.getSkippedGenerations()
+                            + " generations the recording was behind, --record-all true records them all");
+                }
+            }
+            System.out.println(new RunResult(done, elapsed, engine.getPopulation(), cycle));
+            if (metrics != null) {
+                metrics.stopLogging();
+                System.out.println(metrics);
+            }
+        } finally {
+            if (recorder != null) {
+                closeQuietly(recorder);
+            }
+            if (engine instanceof AutoCloseable) {
+                closeQuietly((AutoCloseable) engine);
+            }
+        }
+    }
+
+    /**
+     * Performs the given number of ticks on the engine back to back and measures the throughput.
+     * {@link HashLifeEngine} jumps over the generations in powers of two instead of ticking one by one.
+     *
+     * @param engine      engine seeded with the initial pattern.
+     * @param generations number of ticks to perform.
+     * @return summary of the run.
+     */
+    public static RunResult run(TickEngine engine, long generations) {
+        long start = System.nanoTime();
+        if (engine instanceof HashLifeEngine) {
+            ((HashLifeEngine) engine).advance(generations);
+        } else {
+            for (long i = 0; i < generations; i++) {
+                engine.tick();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new RunResult(generations, elapsed, engine.getPopulation());
+    }
+
+    /**
+     * Performs up to the given number of ticks on the engine, checking every generation for a cycle, and stops
+     * as soon as the board settles into a still life or an oscillator.
+     *
+     * @param engine      engine seeded with the initial pattern.
+     * @param generations maximal number of ticks to perform.
+     * @param detector    detector which has observed the current generation, or {@code null} to run
+     *                    all the generations unchecked.
+     * @return summary of the run, with the cycle if one was found.
+     */
+    public static RunResult run(TickEngine engine, long generations, CycleDetector detector) {
+        return run(engine, generations, detector, null);
+    }
+
+    /**
+     * Performs up to the given number of ticks on the engine one by one, measuring every tick and checking every
+     * generation for a cycle, and stops as soon as the board settles into a still life or an oscillator.
+     *
+     * @param engine      engine seeded with the initial pattern.
+     * @param generations maximal number of ticks to perform.
+     * @param detector    detector which has observed the current generation, or {@code null} to run
+     *                    all the generations unchecked.
+     * @param metrics     measurements of the ticks, or {@code null} to run unmeasured.
+     * @return summary of the run, with the cycle if one was found.
+     */
+    public static RunResult run(TickEngine engine, long generations, CycleDetector detector, TickMetrics metrics) {
+        try {
+            return run(engine, generations, detector, metrics, null);
+        } catch (IOException e) {
+            //Nothing is written without a recorder
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Performs up to the given number of ticks on the engine one by one, measuring and recording every tick and
+     * checking every generation for a cycle, and stops as soon as the board settles into a still life
+     * or an oscillator.
+     *
+     * @param engine      engine seeded with the initial pattern.
+     * @param generations maximal number of ticks to perform.
+     * @param detector    detector which has observed the current generation, or {@code null} to run
+     *                    all the generations unchecked.
+     * @param metrics     measurements of the ticks, or {@code null} to run unmeasured.
+     * @param recorder    recording which has recorded the current generation, or {@code null} to run unrecorded.
+     * @return summary of the run, with the cycle if one was found.
+     * @throws IOException if the generations cannot be recorded.
+     */
+    public static RunResult run(TickEngine engine, long generations, CycleDetector detector, TickMetrics metrics,
+                                GenerationRecorder recorder) throws IOException {
+        if (detector == null && metrics == null && recorder == null) {
+            return run(engine, generations);
+        }
+        long start = System.nanoTime();
+        long done = 0;
+        Cycle cycle = detector != null ? detector.getCycle() : null;
+        while (done < generations && cycle == null) {
+            if (metrics != null) {
+                metrics.beginTick();
+            }
+            engine.tick();
+            if (metrics != null) {
+                metrics.endTick(engine);
+            }
+            done++;
+            if (recorder != null) {
+                recorder.record(engine);
+            }
+            if (detector != null) {
+                cycle = detector.observe(engine);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new RunResult(done, elapsed, engine.getPopulation(), cycle);
+    }
+
+    /**
+     * Releases the resources held by an engine, e.g. the worker threads of {@link ParallelTickEngine}.
+     *
+     * @param closeable resource to release.
+     */
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            //Nothing left to do on exit
+        }
+    }
+}
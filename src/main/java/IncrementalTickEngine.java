@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+/**
+ * <p>
+ * {@link TickEngine} on bit-packed game boards which recomputes only the active parts of the game board.
+ * </p>
+ * <p>
+ * The game board is divided into tiles of {@link ChangeTracking#TILE_SIZE} x {@code TILE_SIZE} {@link Cell}s.
+ * A tile can change in the next generation only if the tile itself or any of its eight neighbouring tiles
+ * changed in the last one, all the other tiles are still and are skipped. As the boards of two consecutive
+ * generations are swapped, a skipped tile keeps the cells of two generations ago, which are the same as the ones
+ * of the last generation for any tile which did not change. The cost of a tick therefore grows with the activity
+ * on the board rather than with its area.
+ * </p>
+ * <p>
+ * The tiles which changed in the last tick are exposed through {@link ChangeTracking}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class IncrementalTickEngine extends AbstractBitTickEngine implements ChangeTracking {
+    private final int tileRows;
+    private final int tileColumns;
+    private final boolean[] active;
+    private final boolean[] changed;
+    private int changedCount;
+    private long changedCells;
+    /**
+     * Set whenever the game board was modified other way than by a tick, so all the tiles have to be computed.
+     */
+    private boolean modified = true;
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s.
+     *
+     * @param rows     number of rows of the game board.
+     * @param columns  number of columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     */
+    public IncrementalTickEngine(int rows, int columns, Topology topology) {
+        super(rows, columns, topology);
+        this.tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        this.tileColumns = getBoard().getWordsPerRow();
+        this.active = new boolean[tileRows * tileColumns];
+        this.changed = new boolean[tileRows * tileColumns];
+    }
+
+    @Override
+    protected void computeGeneration(BitBoard src, BitBoard dst) {
+        if (modified) {
+            Arrays.fill(active, true);
+        } else {
+            markActiveTiles();
+        }
+        Arrays.fill(changed, false);
+        changedCount = 0;
+        changedCells = 0;
+        int rows = src.getRows();
+        int words = src.getWordsPerRow();
+        for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+            int fromRow = tileRow * TILE_SIZE;
+            int toRow = Math.min(fromRow + TILE_SIZE, rows);
+            for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                int tile = tileRow * tileColumns + tileCol;
+                if (!active[tile]) {
+                    continue;
+                }
+                long difference = 0;
+                long cells = 0;
+                for (int row = fromRow; row < toRow; row++) {
+                    int index = row * words + tileCol;
+                    long word = BitTickEngine.computeWord(src, topology, row, tileCol);
+                    long flipped = word ^ src.getWord(index);
+                    difference |= flipped;
+                    cells += Long.bitCount(flipped);
+                    dst.setWord(index, word);
+                }
+                if (difference != 0) {
+                    changed[tile] = true;
+                    changedCount++;
+                    changedCells += cells;
+                }
+            }
+        }
+        modified = false;
+    }
+
+    /**
+     * Marks as active every tile which changed in the last tick, together with its eight neighbouring tiles.
+     */
+    private void markActiveTiles() {
+        Arrays.fill(active, false);
+        boolean toroidal = topology == Topology.TOROIDAL;
+        for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+            for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                if (!changed[tileRow * tileColumns + tileCol]) {
+                    continue;
+                }
+                for (int i = -1; i < 2; i++) {
+                    for (int j = -1; j < 2; j++) {
+                        int neighbourRow = tileRow + i;
+                        int neighbourCol = tileCol + j;
+                        if (toroidal) {
+                            neighbourRow = (neighbourRow + tileRows) % tileRows;
+                            neighbourCol = (neighbourCol + tileColumns) % tileColumns;
+                        } else if (neighbourRow < 0 || neighbourRow >= tileRows
+                                || neighbourCol < 0 || neighbourCol >= tileColumns) {
+                            continue;
+                        }
+                        active[neighbourRow * tileColumns + neighbourCol] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void boardModified() {
+        modified = true;
+    }
+
+    @Override
+    public int getTileRows() {
+        return tileRows;
+    }
+
+    @Override
+    public int getTileColumns() {
+        return tileColumns;
+    }
+
+    @Override
+    public boolean isTileChanged(int tileRow, int tileCol) {
+        return modified || changed[tileRow * tileColumns + tileCol];
+    }
+
+    @Override
+    public int getChangedTileCount() {
+        return modified ? tileRows * tileColumns : changedCount;
+    }
+
+    @Override
+    public long getChangedCellCount() {
+        return modified ? (long) getRows() * getColumns() : changedCells;
+    }
+}
@@ -0,0 +1,133 @@
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Histogram of latencies in nanoseconds with buckets of logarithmically growing width, in the manner
+ * of HdrHistogram.
+ * </p>
+ * <p>
+ * The values below {@value #SUB_BUCKETS} are counted exactly, every further power of two is split into
+ * {@code SUB_BUCKETS / 2} buckets of equal width, so any value is known with a relative error below 2%.
+ * All the values from {@code 0} to {@link Long#MAX_VALUE} fit into a fixed array of counts, which is allocated
+ * once, so recording a value is a few shifts and an increment.
+ * </p>
+ * <p>
+ * A histogram is written by a single thread only. It may be read by other threads at the same time, which
+ * then see the counts as of some moment during the last few recordings.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_BUCKETS = SUB_BUCKETS >>> 1;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * HALF_BUCKETS + SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private volatile long count;
+    private volatile long total;
+    private volatile long max;
+
+    /**
+     * Records a single value.
+     *
+     * @param nanos latency in nanoseconds, negative values are counted as {@code 0}.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[bucketOf(value)]++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+        count++;
+    }
+
+    /**
+     * Forgets all the recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return largest latency in nanoseconds, {@code 0} if nothing was recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return mean latency in nanoseconds, {@code 0} if nothing was recorded.
+     */
+    public double getMean() {
+        long values = count;
+        return values == 0 ? 0 : (double) total / values;
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of the recorded values lies.
+     *
+     * @param percentile percentage from {@code 0} to {@code 100}, e.g. {@code 99.9}.
+     * @return the highest value of the bucket of the percentile in nanoseconds, {@code 0} if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long values = count;
+        if (values == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * values));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the bucket counting the given value.
+     *
+     * @param value non-negative value.
+     * @return index of the bucket.
+     */
+    private static int bucketOf(long value) {
+        int highestBit = 63 - Long.numberOfLeadingZeros(value | (SUB_BUCKETS - 1));
+        int shift = highestBit - (SUB_BUCKET_BITS - 1);
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the highest value counted by a bucket.
+     *
+     * @param bucket index of the bucket.
+     * @return highest value of the bucket.
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> (SUB_BUCKET_BITS - 1)) - 1;
+        long lowest = (long) (bucket - (shift << (SUB_BUCKET_BITS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * <p>
+ * {@link TickEngine} on bit-packed game boards following any Life-like {@link Rule}.
+ * </p>
+ * <p>
+ * The game board is computed in blocks of 2 x 2 {@link Cell}s. The 4 x 4 cells surrounding a block are cut out
+ * of the words of four consecutive rows into a 16-bit index of the table compiled by the rule, which gives
+ * the next state of all four cells by a single lookup, with no branches. The interior is computed as if
+ * surrounded by dead cells, on a torus the cells on the edges are recomputed with wrapped neighbours afterwards.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class LookupTickEngine extends AbstractBitTickEngine {
+    private final Rule rule;
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s.
+     *
+     * @param rows     number of rows of the game board.
+     * @param columns  number of columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     * @param rule     rule of the automaton.
+     */
+    public LookupTickEngine(int rows, int columns, Topology topology, Rule rule) {
+        super(rows, columns, topology);
+        this.rule = rule;
+    }
+
+    @Override
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    protected void computeGeneration(BitBoard src, BitBoard dst) {
+        int rows = src.getRows();
+        int words = src.getWordsPerRow();
+        long lastWordMask = src.getLastWordMask();
+        for (int row = 0; row < rows; row += 2) {
+            int above = row > 0 ? (row - 1) * words : -1;
+            int top = row * words;
+            int bottom = row + 1 < rows ? (row + 1) * words : -1;
+            int below = row + 2 < rows ? (row + 2) * words : -1;
+            long abovePrev = 0;
+            long topPrev = 0;
+            long bottomPrev = 0;
+            long belowPrev = 0;
+            long aboveWord = wordAt(src, above, 0);
+            long topWord = src.getWord(top);
+            long bottomWord = wordAt(src, bottom, 0);
+            long belowWord = wordAt(src, below, 0);
+            for (int word = 0; word < words; word++) {
+                boolean last = word == words - 1;
+                long aboveNext = last ? 0 : wordAt(src, above, word + 1);
+                long topNext = last ? 0 : src.getWord(top + word + 1);
+                long bottomNext = last ? 0 : wordAt(src, bottom, word + 1);
+                long belowNext = last ? 0 : wordAt(src, below, word + 1);
+
+                //Shifted by one column, so bit k holds the western neighbour of the cell k
+                long aboveLow = (aboveWord << 1) | (abovePrev >>> 63);
+                long aboveHigh = (aboveNext << 1) | (aboveWord >>> 63);
+                long topLow = (topWord << 1) | (topPrev >>> 63);
+                long topHigh = (topNext << 1) | (topWord >>> 63);
+                long bottomLow = (bottomWord << 1) | (bottomPrev >>> 63);
+                long bottomHigh = (bottomNext << 1) | (bottomWord >>> 63);
+                long belowLow = (belowWord << 1) | (belowPrev >>> 63);
+                long belowHigh = (belowNext << 1) | (belowWord >>> 63);
+
+                long topResult = 0;
+                long bottomResult = 0;
+                for (int bit = 0; bit < 64; bit += 2) {
+                    int block = window(aboveLow, aboveHigh, bit)
+                            | window(topLow, topHigh, bit) << 4
+                            | window(bottomLow, bottomHigh, bit) << 8
+                            | window(belowLow, belowHigh, bit) << 12;
+                    long next = rule.applyToBlock(block);
+                    topResult |= (next & 3) << bit;
+                    bottomResult |= (next >>> 2) << bit;
+                }
+                if (last) {
+                    topResult &= lastWordMask;
+                    bottomResult &= lastWordMask;
+                }
+                dst.setWord(top + word, topResult);
+                if (bottom >= 0) {
+                    dst.setWord(bottom + word, bottomResult);
+                }
+
+                abovePrev = aboveWord;
+                topPrev = topWord;
+                bottomPrev = bottomWord;
+                belowPrev = belowWord;
+                aboveWord = aboveNext;
+                topWord = topNext;
+                bottomWord = bottomNext;
+                belowWord = belowNext;
+            }
+        }
+        if (topology == Topology.TOROIDAL) {
+            computeEdges(src, dst);
+        }
+    }
+
+    /**
+     * Recomputes the {@link Cell}s on the edges of the game board with the neighbours wrapped around the torus.
+     *
+     * @param src game board of the current generation.
+     * @param dst game board of the next generation.
+     */
+    private void computeEdges(BitBoard src, BitBoard dst) {
+        int rows = src.getRows();
+        int columns = src.getColumns();
+        for (int col = 0; col < columns; col++) {
+            computeWrapped(src, dst, 0, col);
+            computeWrapped(src, dst, rows - 1, col);
+        }
+        for (int row = 1; row < rows - 1; row++) {
+            computeWrapped(src, dst, row, 0);
+            computeWrapped(src, dst, row, columns - 1);
+        }
+    }
+
+    /**
+     * Computes a single {@link Cell} of the next generation with the neighbours wrapped around the torus.
+     *
+     * @param src game board of the current generation.
+     * @param dst game board of the next generation.
+     * @param row row number of a target {@code Cell}.
+     * @param col column number of a target {@code Cell}.
+     */
+    private void computeWrapped(BitBoard src, BitBoard dst, int row, int col) {
+        int rows = src.getRows();
+        int columns = src.getColumns();
+        int sum = 0;
+        for (int i = -1; i < 2; i++) {
+            for (int j = -1; j < 2; j++) {
+                if (i != 0 || j != 0) {
+                    sum += src.get((row + i + rows) % rows, (col + j + columns) % columns);
+                }
+            }
+        }
+        dst.set(row, col, rule.apply(src.get(row, col), sum));
+    }
+
+    /**
+     * Cuts four consecutive cells out of a row shifted by one column.
+     *
+     * @param low  shifted word holding the cells from the western neighbour of the first cell of a word.
+     * @param high shifted word following {@code low}.
+     * @param bit  even bit of the word at which the four cells start.
+     * @return the four cells in the lowest bits.
+     */
+    private static int window(long low, long high, int bit) {
+        return (int) ((low >>> bit) | (high << 1 << (63 - bit))) & 0xF;
+    }
+
+    /**
+     * Returns the word of a row, or a word of dead cells for a row outside of the game board.
+     *
+     * @param board    target game board.
+     * @param rowStart index of the first word of a row, or {@code -1} for a row outside of the game board.
+     * @param word     index of the word within the row.
+     * @return 64 cells packed into a word.
+     */
+    private static long wordAt(BitBoard board, int rowStart, int word) {
+        return rowStart < 0 ? 0 : board.getWord(rowStart + word);
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>
+ * {@link TickEngine} computing bit-packed game boards on multiple cores.
+ * </p>
+ * <p>
+ * Every generation the game board is split into bands of consecutive rows, which are computed by the tasks
+ * of a dedicated {@link ForkJoinPool}, using the same kernel as {@link BitTickEngine}. The tasks share only
+ * the read-only board of the current generation and write to disjoint rows of the next one, so the only
+ * synchronisation is the single join at the end of each generation. The results are identical to the ones
+ * of {@code BitTickEngine}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class ParallelTickEngine extends AbstractBitTickEngine implements AutoCloseable {
+    /**
+     * Number of bands each worker thread gets on average, leaving some room for work stealing.
+     */
+    private static final int BANDS_PER_THREAD = 4;
+    /**
+     * Minimal number of rows of a band, below which splitting costs more than it saves.
+     */
+    private static final int MIN_BAND_ROWS = 16;
+
+    private final ForkJoinPool pool;
+    private final int bandRows;
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s, using all available processors.
+     *
+     * @param rows     number of rows of the game board.
+     * @param columns  number of columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     */
+    public ParallelTickEngine(int rows, int columns, Topology topology) {
+        this(rows, columns, topology, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s.
+     *
+     * @param rows        number of rows of the game board.
+     * @param columns     number of columns of the game board.
+     * @param topology    what lies beyond the edges of the game board.
+     * @param parallelism number of worker threads.
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public ParallelTickEngine(int rows, int columns, Topology topology, int parallelism) {
+        super(rows, columns, topology);
+        this.pool = new ForkJoinPool(parallelism);
+        this.bandRows = Math.max(MIN_BAND_ROWS, -Math.floorDiv(-rows, parallelism * BANDS_PER_THREAD));
+    }
+
+    /**
+     * Returns the number of worker threads of this engine.
+     *
+     * @return number of worker threads.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    protected void computeGeneration(BitBoard src, BitBoard dst) {
+        pool.invoke(new Band(src, dst, 0, src.getRows()));
+    }
+
+    /**
+     * Shuts down the worker threads of this engine. No more ticks can be performed afterwards.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Task computing a band of rows of the next generation, splitting itself in halves as long as the band
+     * is larger than {@link #bandRows}.
+     */
+    private final class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BitBoard src;
+        private final BitBoard dst;
+        private final int fromRow;
+        private final int toRow;
+
+        private Band(BitBoard src, BitBoard dst, int fromRow, int toRow) {
+            this.src = src;
+            this.dst = dst;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= bandRows) {
+                BitTickEngine.computeRows(src, dst, topology, fromRow, toRow);
+            } else {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new Band(src, dst, fromRow, middle), new Band(src, dst, middle, toRow));
+            }
+        }
+    }
+}
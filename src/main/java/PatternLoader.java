@@ -0,0 +1,324 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * This utility class loads patterns in the standard Run Length Encoded (RLE) and Life 1.06 formats straight
+ * into the game board of a {@link TickEngine}.
+ * </p>
+ * <p>
+ * The pattern is parsed character by character while it is read, and every run of alive {@link Cell}s is written
+ * to the engine by {@link TickEngine#setAlive(int, int, int)} as soon as it is decoded, so no representation
+ * of the whole pattern is ever built in memory and bit-packed engines fill whole words at once.
+ * Cells falling outside of the game board are skipped.
+ * </p>
+ *
+ * @author Jan Gajda
+ * @see <a href="https://conwaylife.com/wiki/Run_Length_Encoded">https://conwaylife.com/wiki/Run_Length_Encoded</a>
+ * @see <a href="https://conwaylife.com/wiki/Life_1.06">https://conwaylife.com/wiki/Life_1.06</a>
+ */
+public final class PatternLoader {
+    private static final String LIFE_106_HEADER = "#Life 1.06";
+
+    private PatternLoader() {
+    }
+
+    /**
+     * Clears the game board and loads a pattern file, detecting its format by the header, in its center.
+     *
+     * @param path   pattern file.
+     * @param engine target engine.
+     * @return number of alive cells placed on the game board.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public static long load(Path path, TickEngine engine) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader, engine);
+        }
+    }
+
+    /**
+     * Clears the game board and loads a pattern, detecting its format by the header, in its center.
+     * An RLE pattern is centered by its bounding box, a Life 1.06 pattern gets its origin in the center.
+     *
+     * @param reader source of the pattern.
+     * @param engine target engine.
+     * @return number of alive cells placed on the game board.
+     * @throws IOException if the pattern cannot be read or is malformed.
+     */
+    public static long load(BufferedReader reader, TickEngine engine) throws IOException {
+        engine.clear();
+        reader.mark(LIFE_106_HEADER.length());
+        char[] header = new char[LIFE_106_HEADER.length()];
+        int length = reader.read(header, 0, header.length);
+        reader.reset();
+        if (length == header.length && LIFE_106_HEADER.equals(new String(header))) {
+            return loadLife106(reader, engine, centerIndex(engine.getRows()), centerIndex(engine.getColumns()));
+        }
+        return loadRle(reader, engine, Integer.MIN_VALUE, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Loads a pattern given as a string in the RLE format, with the top-left corner of its bounding box placed
+     * at the given position.
+     *
+     * @param rle    pattern in the RLE format.
+     * @param engine target engine.
+     * @param row    row number of the top-left corner of the pattern.
+     * @param col    column number of the top-left corner of the pattern.
+     * @return number of alive cells placed on the game board.
+     * @throws IllegalArgumentException if the pattern is malformed.
+     */
+    public static long loadRle(String rle, TickEngine engine, int row, int col) {
+        try {
+            return loadRle(new StringReader(rle), engine, row, col);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads a pattern in the RLE format, with the top-left corner of its bounding box placed at the given position.
+     *
+     * @param reader source of the pattern.
+     * @param engine target engine.
+     * @param row    row number of the top-left corner of the pattern, or {@link Integer#MIN_VALUE} to center
+     *               the pattern vertically.
+     * @param col    column number of the top-left corner of the pattern, or {@link Integer#MIN_VALUE} to center
+     *               the pattern horizontally.
+     * @return number of alive cells placed on the game board.
+     * @throws IOException if the pattern cannot be read or is malformed.
+     */
+    public static long loadRle(Reader reader, TickEngine engine, int row, int col) throws IOException {
+        long placed = 0;
+        long currentRow = row;
+        long currentCol = col;
+        int originCol = col;
+        long count = 0;
+        boolean lineStart = true;
+        boolean positioned = row != Integer.MIN_VALUE && col != Integer.MIN_VALUE;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (lineStart && (c == '#' || c == 'x')) {
+                //Comment line, or the header line giving the size of the bounding box
+                String line = (char) c + readLine(reader);
+                if (c == 'x' && !positioned) {
+                    int[] size = new int[2];
+                    parseRleHeader(line, size);
+                    currentRow = row != Integer.MIN_VALUE ? row : centerIndex(engine.getRows()) - (size[1] - 1) / 2;
+                    originCol = col != Integer.MIN_VALUE ? col : centerIndex(engine.getColumns()) - (size[0] - 1) / 2;
+                    currentCol = originCol;
+                    positioned = true;
+                }
+                continue;
+            }
+            lineStart = c == '\n';
+            if (c >= '0' && c <= '9') {
+                count = count * 10 + (c - '0');
+                continue;
+            }
+            long run = count == 0 ? 1 : count;
+            count = 0;
+            if (!positioned) {
+                throw new IOException("RLE pattern without header needs an explicit position");
+            }
+            if (c == 'b' || c == '.') {
+                currentCol += run;
+            } else if (c == '$') {
+                currentRow += run;
+                currentCol = originCol;
+            } else if (c == '!') {
+                break;
+            } else if (Character.isLetter(c)) {
+                placed += placeRun(engine, currentRow, currentCol, run);
+                currentCol += run;
+            } else if (!Character.isWhitespace(c)) {
+                throw new IOException("Unexpected character '" + (char) c + "' in RLE pattern");
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Loads a pattern in the Life 1.06 format, a list of {@code x y} coordinates of alive cells, with the origin
+     * of the coordinates placed at the given position.
+     *
+     * @param reader source of the pattern.
+     * @param engine target engine.
+     * @param row    row number of the origin.
+     * @param col    column number of the origin.
+     * @return number of alive cells placed on the game board.
+     * @throws IOException if the pattern cannot be read or is malformed.
+     */
+    public static long loadLife106(Reader reader, TickEngine engine, int row, int col) throws IOException {
+        long placed = 0;
+        long x = 0;
+        long number = 0;
+        boolean negative = false;
+        boolean inNumber = false;
+        boolean hasX = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '#') {
+                readLine(reader);
+                continue;
+            }
+            if (c == '-') {
+                negative = true;
+            } else if (c >= '0' && c <= '9') {
+                number = number * 10 + (c - '0');
+                inNumber = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inNumber) {
+                    long value = negative ? -number : number;
+                    if (hasX) {
+                        placed += placeRun(engine, row + value, col + x, 1);
+                    } else {
+                        x = value;
+                    }
+                    hasX = !hasX;
+                    number = 0;
+                    negative = false;
+                    inNumber = false;
+                }
+            } else {
+                throw new IOException("Unexpected character '" + (char) c + "' in Life 1.06 pattern");
+            }
+        }
+        if (inNumber && hasX) {
+            placed += placeRun(engine, row + (negative ? -number : number), col + x, 1);
+        }
+        return placed;
+    }
+
+    /**
+     * Makes alive a horizontal run of {@link Cell}s, skipping the ones outside of the game board.
+     *
+     * @param engine target engine.
+     * @param row    row number of the run.
+     * @param col    column number of the first cell of the run.
+     * @param run    number of cells of the run.
+     * @return number of cells placed on the game board.
+     */
+    private static long placeRun(TickEngine engine, long row, long col, long run) {
+        if (row < 0 || row >= engine.getRows()) {
+            return 0;
+        }
+        long from = Math.max(col, 0);
+        long to = Math.min(col + run, engine.getColumns());
+        if (from >= to) {
+            return 0;
+        }
+        engine.setAlive((int) row, (int) from, (int) to);
+        return to - from;
+    }
+
+    /**
+     * Reads the rule a pattern file was designed for, given by the header line of an RLE pattern or by an older
+     * {@code #r} comment line. The suffix of a bounded grid, e.g. {@code :T100,100} of {@code B3/S23:T100,100},
+     * is ignored, the game board is given by the engine the pattern is loaded into.
+     *
+     * @param path pattern file.
+     * @return rule of the pattern, or {@code null} if it does not name any, e.g. a Life 1.06 pattern.
+     * @throws IOException if the file cannot be read or the rule is malformed.
+     */
+    public static Rule readRule(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String rule = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#r")) {
+                    rule = line.substring(2).trim();
+                } else if (line.startsWith("x")) {
+                    String headerRule = parseRleHeader(line, new int[2]);
+                    rule = headerRule != null ? headerRule : rule;
+                    break;
+                } else if (!line.startsWith("#")) {
+                    break;
+                }
+            }
+            if (rule == null) {
+                return null;
+            }
+            int suffix = rule.indexOf(':');
+            try {
+                return Rule.parse(suffix >= 0 ? rule.substring(0, suffix) : rule);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed RLE rule: " + rule, e);
+            }
+        }
+    }
+
+    /**
+     * Parses the header line of an RLE pattern, e.g. {@code x = 4, y = 7, rule = B3/S23}. The rule is the last
+     * key, and its value is the rest of the line, which may contain commas, e.g. {@code B3/S23:T100,100}.
+     *
+     * @param line header line.
+     * @param size array receiving the width and height of the bounding box of the pattern.
+     * @return rulestring, or {@code null} if the header does not give any.
+     * @throws IOException if the header is malformed.
+     */
+    private static String parseRleHeader(String line, int[] size) throws IOException {
+        int start = 0;
+        while (start < line.length()) {
+            int equals = line.indexOf('=', start);
+            if (equals < 0 || line.lastIndexOf(',', equals) >= start) {
+                throw new IOException("Malformed RLE header: " + line);
+            }
+            String key = line.substring(start, equals).trim();
+            if (key.equals("rule")) {
+                return line.substring(equals + 1).trim();
+            }
+            int end = line.indexOf(',', equals);
+            if (end < 0) {
+                end = line.length();
+            }
+            if (key.equals("x") || key.equals("y")) {
+                try {
+                    size[key.equals("x") ? 0 : 1] = Integer.parseInt(line.substring(equals + 1, end).trim());
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed RLE header: " + line, e);
+                }
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the rest of the current line.
+     *
+     * @param reader source of the pattern.
+     * @return the rest of the line, without the line terminator.
+     * @throws IOException if the pattern cannot be read.
+     */
+    private static String readLine(Reader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Returns the index of a center-located {@link Cell} of a row or column.
+     *
+     * @param size number of cells in a row or column.
+     * @return index of a center-located {@code Cell}
+     */
+    private static int centerIndex(int size) {
+        if (size % 2 == 0) {
+            return (size / 2) - 1;
+        } else {
+            return size / 2;
+        }
+    }
+}
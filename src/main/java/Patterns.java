@@ -0,0 +1,148 @@
+import java.util.Random;
+
+/**
+ * <p>
+ * This utility class seeds game boards of {@link TickEngine}s with the initial patterns of {@link Cell}s,
+ * independently of any visual representation.
+ * </p>
+ * <p>
+ * The patterns are specified by the same {@code iteration} numbers as {@link GameOfLife#iteration}.
+ * The fixed patterns are kept in the RLE format and placed by {@link PatternLoader}, the same way as patterns
+ * loaded from files.
+ * </p>
+ * <ol>
+ *     <li>Random pattern - {@code iteration = 0}</li>
+ *     <li>Queen Bee pattern - {@code iteration = 1}</li>
+ *     <li>Tumbler pattern - {@code iteration = 2}</li>
+ * </ol>
+ *
+ * @author Jan Gajda
+ */
+public final class Patterns {
+    /**
+     * Number of available patterns.
+     */
+    public static final int COUNT = 3;
+
+    /**
+     * The Queen Bee pattern in the RLE format, 4 x 7 cells.
+     */
+    private static final String QUEEN_BEE = "2o$2bo$3bo$3bo$3bo$2bo$2o!";
+
+    /**
+     * The Tumbler pattern in the RLE format, 7 x 6 cells.
+     */
+    private static final String TUMBLER = "b2ob2o$b2ob2o$2bobo$obobobo$obobobo$2o3b2o!";
+
+    private Patterns() {
+    }
+
+    /**
+     * Clears the game board of the engine and seeds it with one of the available patterns.
+     *
+     * @param iteration the one of three game patterns.
+     * @param engine    target engine.
+     * @param generator pseudorandom generator used by the random pattern.
+     * @throws IllegalArgumentException if the iteration param is not equal to {0, 1, 2}.
+     */
+    public static void seed(int iteration, TickEngine engine, Random generator) {
+        switch (iteration) {
+            case 0:
+                random(engine, generator);
+                break;
+            case 1:
+                queenBee(engine);
+                break;
+            case 2:
+                tumbler(engine);
+                break;
+            default:
+                throw new IllegalArgumentException(iteration + " not allowed");
+        }
+    }
+
+    /**
+     * Returns the {@code iteration} number of a pattern given by its name, e.g. {@code "queenbee"}.
+     *
+     * @param name name of a pattern, or its {@code iteration} number.
+     * @return the {@code iteration} number of the pattern.
+     * @throws IllegalArgumentException if there is no such pattern.
+     */
+    public static int forName(String name) {
+        switch (name.toLowerCase()) {
+            case "0":
+            case "random":
+                return 0;
+            case "1":
+            case "queenbee":
+                return 1;
+            case "2":
+            case "tumbler":
+                return 2;
+            default:
+                throw new IllegalArgumentException(name + " not allowed");
+        }
+    }
+
+    /**
+     * Clears the game board and makes each {@link Cell} alive with the probability of one half.
+     *
+     * @param engine    target engine.
+     * @param generator pseudorandom generator deciding the state of each cell.
+     */
+    public static void random(TickEngine engine, Random generator) {
+        engine.clear();
+        for (int row = 0; row < engine.getRows(); row++) {
+            for (int col = 0; col < engine.getColumns(); col++) {
+                engine.setState(row, col, generator.nextInt(2));
+            }
+        }
+    }
+
+    /**
+     * Clears the game board and places a Queen Bee pattern in its center.
+     *
+     * @param engine target engine.
+     */
+    public static void queenBee(TickEngine engine) {
+        placeAtCenter(engine, QUEEN_BEE, -3, -1);
+    }
+
+    /**
+     * Clears the game board and places a Tumbler pattern in its center.
+     *
+     * @param engine target engine.
+     */
+    public static void tumbler(TickEngine engine) {
+        placeAtCenter(engine, TUMBLER, -4, -3);
+    }
+
+    /**
+     * Clears the game board and loads a pattern with its top-left corner at the given offset from the center
+     * of the board.
+     *
+     * @param engine    target engine.
+     * @param rle       pattern in the RLE format.
+     * @param rowOffset row offset of the top-left corner of the pattern from the center.
+     * @param colOffset column offset of the top-left corner of the pattern from the center.
+     */
+    private static void placeAtCenter(TickEngine engine, String rle, int rowOffset, int colOffset) {
+        engine.clear();
+        PatternLoader.loadRle(rle, engine, getCenterIndex(engine.getRows()) + rowOffset,
+                getCenterIndex(engine.getColumns()) + colOffset);
+    }
+
+    /**
+     * Returns the index of a center-located {@link Cell} of a row or column.
+     *
+     * @param size number of cells in a row or column.
+     * @return index of a center-located {@code Cell}
+     */
+    private static int getCenterIndex(int size) {
+        if (size % 2 == 0) {
+            return (size / 2) - 1;
+        } else {
+            return size / 2;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * <p>
+ * Outer-totalistic rule of a Life-like cellular automaton, given by a rulestring in the B/S notation,
+ * e.g. {@code B3/S23} for the John Conway's "Game Of Life" or {@code B36/S23} for HighLife. A dead {@link Cell}
+ * becomes alive if its number of alive neighbours is listed after {@code B}, and an alive cell stays alive
+ * if its number of alive neighbours is listed after {@code S}. The S/B notation, e.g. {@code 23/3}, is accepted
+ * as well.
+ * </p>
+ * <p>
+ * The rule is compiled into lookup tables once, so applying it takes no branches:
+ * </p>
+ * <ul>
+ *     <li>{@link #apply(int, int)} - next state by the current state and the number of alive neighbours.</li>
+ *     <li>{@link #applyToBlock(int)} - next state of the center 2 x 2 cells by a whole 4 x 4 block of cells,
+ *     four cells per lookup.</li>
+ * </ul>
+ *
+ * @author Jan Gajda
+ * @see <a href="https://conwaylife.com/wiki/Rulestring">https://conwaylife.com/wiki/Rulestring</a>
+ */
+public final class Rule {
+    /**
+     * The rule of the John Conway's "Game Of Life".
+     */
+    public static final Rule CONWAY = parse("B3/S23");
+
+    /**
+     * Number of cells of a 4 x 4 block, which is the number of bits of an index of {@link #applyToBlock(int)}.
+     */
+    private static final int BLOCK_CELLS = 16;
+
+    private final int birth;
+    private final int survival;
+    /**
+     * Next state indexed by {@code state * 9 + sum}.
+     */
+    private final byte[] transitions = new byte[18];
+    /**
+     * Next state of the center 2 x 2 cells indexed by a 4 x 4 block of cells.
+     */
+    private final byte[] blocks = new byte[1 << BLOCK_CELLS];
+
+    /**
+     * Creates a rule from the sets of numbers of alive neighbours.
+     *
+     * @param birth    bit {@code n} set if a dead cell with {@code n} alive neighbours becomes alive.
+     * @param survival bit {@code n} set if an alive cell with {@code n} alive neighbours stays alive.
+     */
+    private Rule(int birth, int survival) {
+        this.birth = birth;
+        this.survival = survival;
+        for (int sum = 0; sum < 9; sum++) {
+            transitions[sum] = (byte) ((birth >>> sum) & 1);
+            transitions[9 + sum] = (byte) ((survival >>> sum) & 1);
+        }
+        for (int block = 0; block < blocks.length; block++) {
+            int result = 0;
+            for (int i = 0; i < 4; i++) {
+                int row = 1 + (i >>> 1);
+                int col = 1 + (i & 1);
+                int sum = 0;
+                for (int neighbourRow = row - 1; neighbourRow <= row + 1; neighbourRow++) {
+                    for (int neighbourCol = col - 1; neighbourCol <= col + 1; neighbourCol++) {
+                        sum += (block >>> (neighbourRow * 4 + neighbourCol)) & 1;
+                    }
+                }
+                int state = (block >>> (row * 4 + col)) & 1;
+                result |= transitions[state * 9 + sum - state] << i;
+            }
+            blocks[block] = (byte) result;
+        }
+    }
+
+    /**
+     * Parses a rulestring in the B/S notation, e.g. {@code B36/S23}, or the S/B notation, e.g. {@code 23/36}.
+     *
+     * @param rulestring rulestring, case insensitive.
+     * @return compiled rule.
+     * @throws IllegalArgumentException if the rulestring is malformed.
+     */
+    public static Rule parse(String rulestring) {
+        String[] parts = rulestring.trim().toUpperCase().split("/", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(rulestring + " not allowed");
+        }
+        if (parts[0].startsWith("B") && parts[1].startsWith("S")) {
+            return new Rule(parseCounts(parts[0].substring(1), rulestring),
+                    parseCounts(parts[1].substring(1), rulestring));
+        } else if (parts[0].startsWith("S") && parts[1].startsWith("B")) {
+            return new Rule(parseCounts(parts[1].substring(1), rulestring),
+                    parseCounts(parts[0].substring(1), rulestring));
+        } else {
+            return new Rule(parseCounts(parts[1], rulestring), parseCounts(parts[0], rulestring));
+        }
+    }
+
+    /**
+     * Parses a list of numbers of alive neighbours, e.g. {@code 236}.
+     *
+     * @param counts     digits from {@code 0} to {@code 8}.
+     * @param rulestring the whole rulestring, for the error message.
+     * @return bit {@code n} set for every digit {@code n}.
+     * @throws IllegalArgumentException if there is any other character.
+     */
+    private static int parseCounts(String counts, String rulestring) {
+        int mask = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            char c = counts.charAt(i);
+            if (c < '0' || c > '8') {
+                throw new IllegalArgumentException(rulestring + " not allowed");
+            }
+            mask |= 1 << (c - '0');
+        }
+        return mask;
+    }
+
+    /**
+     * Applies the rule to a single {@link Cell}.
+     *
+     * @param state state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     * @param sum   number of alive neighbours of the Cell.
+     * @return state of the Cell after the tick.
+     */
+    public int apply(int state, int sum) {
+        return transitions[state * 9 + sum];
+    }
+
+    /**
+     * Applies the rule to the center 2 x 2 cells of a 4 x 4 block of cells.
+     *
+     * @param block the cell at row {@code r} and column {@code c} of the block at bit {@code r * 4 + c}.
+     * @return the next state of the cell at row {@code 1 + r} and column {@code 1 + c} of the block
+     * at bit {@code r * 2 + c}.
+     */
+    public int applyToBlock(int block) {
+        return blocks[block];
+    }
+
+    /**
+     * Checks whether this is the rule of the John Conway's "Game Of Life".
+     *
+     * @return {@code true} for {@code B3/S23}.
+     */
+    public boolean isConway() {
+        return birth == CONWAY.birth && survival == CONWAY.survival;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Rule)) {
+            return false;
+        }
+        Rule rule = (Rule) o;
+        return birth == rule.birth && survival == rule.survival;
+    }
+
+    @Override
+    public int hashCode() {
+        return birth * 31 + survival;
+    }
+
+    /**
+     * Returns the rulestring in the B/S notation.
+     *
+     * @return rulestring, e.g. {@code B36/S23}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder rulestring = new StringBuilder("B");
+        for (int sum = 0; sum < 9; sum++) {
+            if ((birth >>> sum & 1) != 0) {
+                rulestring.append(sum);
+            }
+        }
+        rulestring.append("/S");
+        for (int sum = 0; sum < 9; sum++) {
+            if ((survival >>> sum & 1) != 0) {
+                rulestring.append(sum);
+            }
+        }
+        return rulestring.toString();
+    }
+}
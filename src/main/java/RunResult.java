@@ -0,0 +1,89 @@
+/**
+ * Immutable summary of a simulation run by {@link HeadlessRunner}.
+ *
+ * @author Jan Gajda
+ */
+public final class RunResult {
+    private final long generations;
+    private final long elapsedNanos;
+    private final long population;
+    private final Cycle cycle;
+
+    /**
+     * Creates a summary of a run.
+     *
+     * @param generations  number of generations computed during the run.
+     * @param elapsedNanos wall-clock time of the run in nanoseconds.
+     * @param population   number of alive cells after the run.
+     */
+    public RunResult(long generations, long elapsedNanos, long population) {
+        this(generations, elapsedNanos, population, null);
+    }
+
+    /**
+     * Creates a summary of a run which may have stopped early.
+     *
+     * @param generations  number of generations computed during the run.
+     * @param elapsedNanos wall-clock time of the run in nanoseconds.
+     * @param population   number of alive cells after the run.
+     * @param cycle        cycle the board settled into, or {@code null} if none was found.
+     */
+    public RunResult(long generations, long elapsedNanos, long population, Cycle cycle) {
+        this.generations = generations;
+        this.elapsedNanos = elapsedNanos;
+        this.population = population;
+        this.cycle = cycle;
+    }
+
+    /**
+     * Returns the number of generations computed during the run.
+     *
+     * @return number of generations.
+     */
+    public long getGenerations() {
+        return generations;
+    }
+
+    /**
+     * Returns the wall-clock time of the run.
+     *
+     * @return elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of alive cells after the run.
+     *
+     * @return number of alive cells.
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * Returns the cycle the board settled into, which stopped the run.
+     *
+     * @return cycle, or {@code null} if none was found.
+     */
+    public Cycle getCycle() {
+        return cycle;
+    }
+
+    /**
+     * Returns the throughput of the run.
+     *
+     * @return generations computed per second.
+     */
+    public double getGenerationsPerSecond() {
+        return elapsedNanos == 0 ? Double.POSITIVE_INFINITY : generations * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%d generations in %.3f s (%.1f generations/s), population %d",
+                generations, elapsedNanos / 1e9, getGenerationsPerSecond(), population);
+        return cycle == null ? summary : summary + ", " + cycle;
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Runs the simulations of a range of seeds of the random pattern concurrently, one simulation per worker thread
+ * at a time, and streams the result of each of them to a {@link SweepWriter}.
+ * </p>
+ * <p>
+ * The board of seed {@code s} is the one seeded by {@link Patterns#random(TickEngine, Random)} with
+ * {@code new Random(s)}, so any single result can be reproduced by {@link HeadlessRunner} with {@code --seed s}.
+ * Every worker owns its engine, its {@link CycleDetector} and its {@link Random}, all of them reused from one seed
+ * to the next, so the simulations share nothing but the counter of seeds and the writer. A simulation stops when
+ * the board settles into a still life or an oscillator, or after the generation limit. It can be used either
+ * as a library, through {@link #run(long, long, SweepWriter)}, or from the command line:
+ * </p>
+ * <pre>
+ * java -cp GameOfLife.jar SeedSweep --from 0 --to 10000 [--size 256] [--generations 10000] [--history 1024]
+ *      [--engine bit] [--topology dead] [--rule B3/S23] [--workers 8] [--out results.csv] [--format csv|binary]
+ * </pre>
+ *
+ * @author Jan Gajda
+ */
+public final class SeedSweep {
+    private final String engineName;
+    private final int size;
+    private final Topology topology;
+    private final Rule rule;
+    private final long generations;
+    private final int history;
+    private final int workers;
+
+    /**
+     * Creates a sweep of square boards.
+     *
+     * @param engineName  name of the engine of every worker, one of {@link TickEngines#NAMES}.
+     * @param size        number of rows and columns of the game board.
+     * @param topology    what lies beyond the edges of the game board.
+     * @param rule        rule of the automaton.
+     * @param generations maximal number of generations of a single simulation.
+     * @param history     number of recent generations checked for a cycle.
+     * @param workers     number of simulations run at once.
+     * @throws IllegalArgumentException if the number of workers or the history is not positive, or there is no such
+     *                                  engine, or it does not support the given size or rule.
+     */
+    public SeedSweep(String engineName, int size, Topology topology, Rule rule, long generations, int history,
+                     int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers " + workers + " not allowed");
+        }
+        if (history <= 0 || history > 1 << 29) {
+            throw new IllegalArgumentException("history " + history + " not allowed");
+        }
+        //Fails on a bad engine here rather than in the workers, once the output has already been opened
+        close(TickEngines.create(engineName, size, size, topology, 1, rule));
+        this.engineName = engineName;
+        this.size = size;
+        this.topology = topology;
+        this.rule = rule;
+        this.generations = generations;
+        this.history = history;
+        this.workers = workers;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long fromSeed = 0;
+        long toSeed = -1;
+        int size = 256;
+        long generations = 10000;
+        int history = 1024;
+        String engineName = "bit";
+        Topology topology = Topology.DEAD;
+        Rule rule = Rule.CONWAY;
+        int workers = Runtime.getRuntime().availableProcessors();
+        Path outPath = Paths.get("results.csv");
+        SweepWriter.Format format = SweepWriter.Format.CSV;
+        SeedSweep sweep;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException(args[i] + " requires a value");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--from":
+                        fromSeed = Long.parseLong(value);
+                        break;
+                    case "--to":
+                        toSeed = Long.parseLong(value);
+                        break;
+                    case "--size":
+                        size = Integer.parseInt(value);
+                        break;
+                    case "--generations":
+                        generations = Long.parseLong(value);
+                        break;
+                    case "--history":
+                        history = Integer.parseInt(value);
+                        break;
+                    case "--engine":
+                        engineName = value;
+                        break;
+                    case "--topology":
+                        topology = Topology.valueOf(value.toUpperCase());
+                        break;
+                    case "--rule":
+                        rule = Rule.parse(value);
+                        break;
+                    case "--workers":
+                        workers = Integer.parseInt(value);
+                        break;
+                    case "--out":
+                        outPath = Paths.get(value);
+                        break;
+                    case "--format":
+                        format = SweepWriter.Format.valueOf(value.toUpperCase());
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i] + " not allowed");
+                }
+            }
+            if (toSeed < fromSeed) {
+                throw new IllegalArgumentException("--to " + toSeed + " not allowed for --from " + fromSeed);
+            }
+            sweep = new SeedSweep(engineName, size, topology, rule, generations, history, workers);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: SeedSweep --from N --to N [--size N] [--generations N] [--history N]"
+                    + " [--engine " + String.join("|", TickEngines.NAMES) + "] [--topology dead|toroidal]"
+                    + " [--rule B3/S23] [--workers N] [--out FILE] [--format csv|binary]");
+            System.exit(1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (SweepWriter writer = new SweepWriter(outPath, format)) {
+            sweep.run(fromSeed, toSeed, writer);
+            System.out.printf("%d seeds in %.3f s to %s%n", writer.getRecords(),
+                    (System.nanoTime() - start) / 1e9, outPath);
+        }
+    }
+
+    /**
+     * Runs the simulations of the seeds {@code [fromSeed, toSeed)} and waits for all of them to finish.
+     *
+     * @param fromSeed first seed, inclusive.
+     * @param toSeed   last seed, exclusive.
+     * @param writer   destination of the results.
+     * @throws IOException if the results cannot be written.
+     */
+    public void run(long fromSeed, long toSeed, SweepWriter writer) throws IOException {
+        AtomicLong nextSeed = new AtomicLong(fromSeed);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(pool.submit(() -> work(nextSeed, toSeed, writer)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Body of a worker, taking the next seed until the range is exhausted.
+     *
+     * @param nextSeed counter of seeds shared by the workers.
+     * @param toSeed   last seed, exclusive.
+     * @param writer   destination of the results.
+     */
+    private void work(AtomicLong nextSeed, long toSeed, SweepWriter writer) {
+        TickEngine engine = TickEngines.create(engineName, size, size, topology, 1, rule);
+        CycleDetector detector = new CycleDetector(history);
+        Random generator = new Random();
+        try {
+            long seed;
+            while ((seed = nextSeed.getAndIncrement()) < toSeed) {
+                generator.setSeed(seed);
+                Patterns.random(engine, generator);
+                detector.reset();
+                detector.observe(engine);
+                writer.write(seed, HeadlessRunner.run(engine, generations, detector));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            close(engine);
+        }
+    }
+
+    /**
+     * Releases the resources of an engine, such as the threads of a multithreaded one.
+     *
+     * @param engine engine no longer used.
+     */
+    private static void close(TickEngine engine) {
+        if (engine instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) engine).close();
+            } catch (Exception e) {
+                //Nothing left to do after the sweep
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Runs the ticks of a {@link TickEngine} on a dedicated thread, independently of the frame rate of the display.
+ * </p>
+ * <p>
+ * After every tick the simulation thread copies the board into a {@link Generation} and publishes it through
+ * a single-slot handoff. The display takes the latest generation by {@link #poll()} whenever it draws a frame,
+ * a generation which was not taken before the next one was published is dropped and its board reused. The two
+ * threads share only the slot, an atomic reference, so neither of them ever blocks the other. Publishing swaps
+ * the filled generation with the one in the slot, which is filled next, and taking swaps the latest generation
+ * with the one the display released, so exactly three boards exist, one being filled, one in the slot and one
+ * drawn, as long as the display releases every generation before taking the next one.
+ * </p>
+ * <p>
+ * The engine belongs to the simulation thread once it is started. Any other changes of the game board, e.g.
+ * seeding a new pattern, have to be {@link #submit(Consumer) submitted} and are run between two ticks.
+ * </p>
+ * <p>
+ * If given a {@link CycleDetector}, the simulation stops ticking once the board settles into a still life or
+ * an oscillator, until the next command changes the game board.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class SimulationLoop implements AutoCloseable {
+    private final TickEngine engine;
+    private final long tickPeriodNanos;
+    private final CycleDetector detector;
+    private final TickMetrics metrics;
+    private final Queue<Consumer<TickEngine>> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Generation> latest = new AtomicReference<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile Cycle cycle;
+    private long startDelayNanos;
+    private long sequence;
+    private Generation back;
+    private Generation front;
+
+    /**
+     * Creates a simulation, which does not run until {@link #start(long)} is called.
+     *
+     * @param engine          engine to tick.
+     * @param tickPeriodNanos time between two ticks in nanoseconds, or {@code 0} to tick as fast as possible.
+     */
+    public SimulationLoop(TickEngine engine, long tickPeriodNanos) {
+        this(engine, tickPeriodNanos, null);
+    }
+
+    /**
+     * Creates a simulation stopping at cycles, which does not run until {@link #start(long)} is called.
+     *
+     * @param engine          engine to tick.
+     * @param tickPeriodNanos time between two ticks in nanoseconds, or {@code 0} to tick as fast as possible.
+     * @param detector        detector checking every generation, or {@code null} to tick forever.
+     */
+    public SimulationLoop(TickEngine engine, long tickPeriodNanos, CycleDetector detector) {
+        this(engine, tickPeriodNanos, detector, null);
+    }
+
+    /**
+     * Creates a measured simulation stopping at cycles, which does not run until {@link #start(long)} is called.
+     *
+     * @param engine          engine to tick.
+     * @param tickPeriodNanos time between two ticks in nanoseconds, or {@code 0} to tick as fast as possible.
+     * @param detector        detector checking every generation, or {@code null} to tick forever.
+     * @param metrics         measurements of the ticks, or {@code null} to tick unmeasured.
+     */
+    public SimulationLoop(TickEngine engine, long tickPeriodNanos, CycleDetector detector, TickMetrics metrics) {
+        this.engine = engine;
+        this.metrics = metrics;
+        this.tickPeriodNanos = tickPeriodNanos;
+        this.detector = detector;
+        this.thread = new Thread(this::run, "simulation");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the simulation thread. The generation the engine holds is published right away, the first tick
+     * follows after the given delay.
+     *
+     * @param delayNanos time before the first tick in nanoseconds.
+     */
+    public void start(long delayNanos) {
+        startDelayNanos = delayNanos;
+        thread.start();
+    }
+
+    /**
+     * Runs a command on the simulation thread before the next tick and publishes the generation it leaves
+     * on the game board. Commands are run in the order they were submitted.
+     *
+     * @param command change of the game board, e.g. seeding of a pattern.
+     */
+    public void submit(Consumer<TickEngine> command) {
+        commands.add(command);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Takes the latest published generation, which must be {@link #release(Generation) released} once it is
+     * no longer needed. It is called by the display thread only, and if the previous generation was not released
+     * yet, a new board is allocated in place of it.
+     *
+     * @return the latest generation, or {@code null} if none was published since the last call.
+     */
+    public Generation poll() {
+        Generation current = latest.get();
+        if (current == null || !current.isFresh()) {
+            return null;
+        }
+        Generation spare = front != null ? front : new Generation(engine.getRows(), engine.getColumns());
+        front = null;
+        //Only the simulation replaces the slot, always by a fresh generation, so the swap takes a fresh one
+        Generation taken = latest.getAndSet(spare);
+        taken.setFresh(false);
+        return taken;
+    }
+
+    /**
+     * Hands a generation taken by {@link #poll()} back to the simulation, to be reused for a later copy.
+     * It is called by the display thread only.
+     *
+     * @param generation generation which will not be read any more.
+     */
+    public void release(Generation generation) {
+        front = generation;
+    }
+
+    /**
+     * Returns the number of generations which were replaced by a newer one before being taken.
+     *
+     * @return number of dropped generations.
+     */
+    public long getDroppedGenerations() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the cycle the game board settled into, which stopped the ticks.
+     *
+     * @return cycle, or {@code null} if the simulation is ticking.
+     */
+    public Cycle getCycle() {
+        return cycle;
+    }
+
+    /**
+     * Stops the simulation thread after the tick in progress and waits for it to finish.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the simulation thread, ticking at the given period and running the submitted commands in between.
+     */
+    private void run() {
+        back = new Generation(engine.getRows(), engine.getColumns());
+        observe();
+        publish(false);
+        long deadline = System.nanoTime() + startDelayNanos;
+        while (running) {
+            boolean modified = false;
+            Consumer<TickEngine> command;
+            while ((command = commands.poll()) != null) {
+                command.accept(engine);
+                modified = true;
+            }
+            if (modified) {
+                if (detector != null) {
+                    detector.reset();
+                }
+                observe();
+                publish(false);
+            }
+            if (cycle != null) {
+                LockSupport.park(this);
+                continue;
+            }
+            long now = System.nanoTime();
+            if (now - deadline < 0) {
+                LockSupport.parkNanos(this, deadline - now);
+                continue;
+            }
+            if (metrics != null) {
+                metrics.beginTick();
+            }
+            engine.tick();
+            if (metrics != null) {
+                metrics.endTick(engine);
+            }
+            observe();
+            publish(true);
+            //Falling behind is not caught up by a burst of ticks
+            deadline = Math.max(deadline + tickPeriodNanos, now);
+        }
+    }
+
+    /**
+     * Checks the current generation of the engine for a cycle, if there is a detector. It is called before
+     * the generation is published, so the display sees the cycle together with the generation completing it.
+     */
+    private void observe() {
+        if (detector != null) {
+            cycle = detector.observe(engine);
+        }
+    }
+
+    /**
+     * Copies the current generation of the engine into the free board and publishes it. The generation it replaces
+     * in the slot, either one which was not taken or one handed over by the display, is filled next.
+     *
+     * @param ticked {@code true} if the engine only ticked since the previous generation was published.
+     */
+    private void publish(boolean ticked) {
+        back.copyFrom(engine, ++sequence, ticked);
+        back.setFresh(true);
+        Generation replaced = latest.getAndSet(back);
+        if (replaced == null) {
+            replaced = new Generation(engine.getRows(), engine.getColumns());
+        } else if (replaced.isFresh()) {
+            dropped.incrementAndGet();
+        }
+        back = replaced;
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Random;
+
+/**
+ * <p>
+ * Command line tool reporting how {@link ParallelTickEngine} scales with the number of cores.
+ * </p>
+ * <p>
+ * It runs the same random game board on {@link BitTickEngine} and on {@code ParallelTickEngine} with
+ * 1, 2, 4, ... worker threads up to the requested parallelism, checks that every run ends with exactly
+ * the same board, and prints the achieved generations per second together with the speedup and efficiency
+ * relative to the sequential engine.
+ * </p>
+ * <p>
+ * Usage: {@code SpeedupReport [size] [generations] [maxParallelism]}, by default a 4096 x 4096 board,
+ * 200 generations and all available processors.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class SpeedupReport {
+    private static final long SEED = 42;
+
+    private SpeedupReport() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int maxParallelism = args.length > 2
+                ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+
+        BitTickEngine sequential = new BitTickEngine(size, size, Topology.DEAD);
+        double baseline = measure(sequential, generations);
+        System.out.printf("%-12s %14s %9s %11s%n", "threads", "generations/s", "speedup", "efficiency");
+        System.out.printf("%-12s %14.1f %9.2f %11s%n", "sequential", baseline, 1.0, "-");
+
+        int parallelism = 1;
+        while (parallelism <= maxParallelism) {
+            try (ParallelTickEngine parallel = new ParallelTickEngine(size, size, Topology.DEAD, parallelism)) {
+                double rate = measure(parallel, generations);
+                if (!sameBoards(sequential, parallel)) {
+                    throw new IllegalStateException("Results differ with " + parallelism + " threads");
+                }
+                double speedup = rate / baseline;
+                System.out.printf("%-12d %14.1f %9.2f %10.0f%%%n",
+                        parallelism, rate, speedup, 100 * speedup / parallelism);
+            }
+            parallelism = nextParallelism(parallelism, maxParallelism);
+        }
+    }
+
+    /**
+     * Seeds the engine with a random board, warms it up and measures the rate of ticks.
+     *
+     * @param engine      target engine.
+     * @param generations number of generations to measure.
+     * @return generations per second.
+     */
+    private static double measure(TickEngine engine, int generations) {
+        //Warming up the JIT compiler with a full run first
+        seed(engine);
+        for (int i = 0; i < generations; i++) {
+            engine.tick();
+        }
+        seed(engine);
+        long start = System.nanoTime();
+        for (int i = 0; i < generations; i++) {
+            engine.tick();
+        }
+        long elapsed = System.nanoTime() - start;
+        return generations * 1e9 / elapsed;
+    }
+
+    /**
+     * Replaces the board of the engine with the same pseudorandom pattern on every call.
+     *
+     * @param engine target engine.
+     */
+    private static void seed(TickEngine engine) {
+        engine.clear();
+        Random generator = new Random(SEED);
+        for (int row = 0; row < engine.getRows(); row++) {
+            for (int col = 0; col < engine.getColumns(); col++) {
+                engine.setState(row, col, generator.nextInt(2));
+            }
+        }
+    }
+
+    /**
+     * Compares the current boards of two engines of the same dimensions.
+     *
+     * @param first  first engine.
+     * @param second second engine.
+     * @return {@code true} if every {@link Cell} has the same state on both boards.
+     */
+    private static boolean sameBoards(TickEngine first, TickEngine second) {
+        for (int row = 0; row < first.getRows(); row++) {
+            for (int col = 0; col < first.getColumns(); col++) {
+                if (first.getState(row, col) != second.getState(row, col)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the parallelism, making sure the maximal parallelism is measured as well.
+     *
+     * @param parallelism    the last measured parallelism.
+     * @param maxParallelism the maximal parallelism to measure.
+     * @return the next parallelism to measure.
+     */
+    private static int nextParallelism(int parallelism, int maxParallelism) {
+        return parallelism < maxParallelism && parallelism * 2 > maxParallelism ? maxParallelism : parallelism * 2;
+    }
+}
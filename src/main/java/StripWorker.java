@@ -0,0 +1,259 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * <p>
+ * Worker process of a {@link DistributedRunner}, simulating a horizontal strip of a game board too large
+ * for a single JVM.
+ * </p>
+ * <p>
+ * A worker connects to the coordinator, which assigns it a strip and the address of the worker owning the strip
+ * below, and connects to that worker while accepting the connection of the worker owning the strip above. Its local
+ * game board holds the strip between two halos of {@code halo} rows of the neighbouring strips. After every
+ * exchange of the halos by {@link HaloExchange} the worker runs up to {@code halo} generations on its own: every
+ * generation invalidates one more row at each edge of the local game board, so the rows of the strip stay valid
+ * until the next exchange. Wider halos thus trade a few recomputed rows for fewer round trips.
+ * </p>
+ * <p>
+ * The strip is seeded with the same cells as {@link Patterns#random(TickEngine, Random)} seeds the whole board
+ * with {@code new Random(seed)}, so a distributed run can be checked against a single engine. Workers are started
+ * by the coordinator, or by hand on other nodes:
+ * </p>
+ * <pre>
+ * java -cp GameOfLife.jar StripWorker --coordinator host:port
+ * </pre>
+ *
+ * @author Jan Gajda
+ */
+public final class StripWorker {
+    static final byte READY = 1;
+    static final byte GO = 2;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private StripWorker() {
+    }
+
+    public static void main(String[] args) {
+        InetSocketAddress coordinator;
+        try {
+            if (args.length != 2 || !"--coordinator".equals(args[0])) {
+                throw new IllegalArgumentException(String.join(" ", args) + " not allowed");
+            }
+            int colon = args[1].lastIndexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException(args[1] + " not allowed");
+            }
+            coordinator = new InetSocketAddress(args[1].substring(0, colon),
+                    Integer.parseInt(args[1].substring(colon + 1)));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: StripWorker --coordinator HOST:PORT");
+            System.exit(1);
+            return;
+        }
+        try {
+            run(coordinator);
+        } catch (IOException e) {
+            System.err.println("Worker failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Simulates the strip assigned by the coordinator and reports the result back to it.
+     *
+     * @param coordinator address of the coordinator.
+     * @throws IOException if the coordinator or a neighbour cannot be reached.
+     */
+    public static void run(InetSocketAddress coordinator) throws IOException {
+        try (ServerSocketChannel server = ServerSocketChannel.open();
+             SocketChannel control = SocketChannel.open(coordinator)) {
+            server.bind(new InetSocketAddress(0));
+            ByteBuffer message = ByteBuffer.allocate(256);
+            message.putInt(((InetSocketAddress) server.getLocalAddress()).getPort()).flip();
+            writeFully(control, message);
+
+            message.clear().limit(4 * Integer.BYTES + Byte.BYTES + Integer.BYTES + 2 * Long.BYTES + Integer.BYTES
+                    + Short.BYTES);
+            readFully(control, message);
+            int index = message.getInt();
+            int workers = message.getInt();
+            int rows = message.getInt();
+            int columns = message.getInt();
+            Topology topology = Topology.values()[message.get()];
+            int halo = message.getInt();
+            long seed = message.getLong();
+            long generations = message.getLong();
+            int downPort = message.getInt();
+            byte[] downHost = new byte[message.getShort()];
+            message.clear().limit(downHost.length);
+            readFully(control, message);
+            message.get(downHost);
+
+            int firstRow = firstRow(index, workers, rows);
+            int stripRows = firstRow(index + 1, workers, rows) - firstRow;
+            boolean toroidal = topology == Topology.TOROIDAL && workers > 1;
+            SocketChannel down = downPort >= 0 ? SocketChannel.open(new InetSocketAddress(
+                    new String(downHost, StandardCharsets.UTF_8), downPort)) : null;
+            SocketChannel up = toroidal || index > 0 ? server.accept() : null;
+            int wordsPerRow = (columns + 63) >>> 6;
+            try (HaloExchange exchange = new HaloExchange(up, down, halo, stripRows, wordsPerRow)) {
+                int top = exchange.getTop();
+                int localRows = exchange.getLocalRows();
+                BitBoard current = new BitBoard(localRows, columns);
+                BitBoard next = new BitBoard(localRows, columns);
+                seed(current, top, firstRow, stripRows, seed);
+
+                message.clear();
+                message.put(READY).flip();
+                writeFully(control, message);
+                message.clear().limit(1);
+                readFully(control, message);
+                if (message.get() != GO) {
+                    throw new IOException("Unexpected message from the coordinator");
+                }
+
+                long start = System.nanoTime();
+                long done = 0;
+                while (done < generations) {
+                    exchange.exchange(current);
+                    int steps = (int) Math.min(halo, generations - done);
+                    for (int step = 1; step <= steps; step++) {
+                        //The rows at the edges of the halos lack neighbours, so the valid rows narrow by one
+                        int fromRow = up != null ? step : 0;
+                        int toRow = down != null ? localRows - step : localRows;
+                        BitTickEngine.computeRows(current, next, topology, fromRow, toRow);
+                        BitBoard swap = current;
+                        current = next;
+                        next = swap;
+                    }
+                    done += steps;
+                }
+                long elapsed = System.nanoTime() - start;
+
+                long population = 0;
+                for (int row = top; row < top + stripRows; row++) {
+                    for (int word = 0; word < wordsPerRow; word++) {
+                        population += Long.bitCount(current.getWord(row * wordsPerRow + word));
+                    }
+                }
+                message.clear();
+                message.putLong(elapsed).putLong(population).putLong(hash(current, top, top + stripRows))
+                        .putLong(exchange.getExchanges()).putLong(exchange.getBytes()).flip();
+                writeFully(control, message);
+            }
+        }
+    }
+
+    /**
+     * Returns the first row of the strip of a worker, the strips being of nearly equal heights.
+     *
+     * @param index   index of the worker, {@code workers} for the end of the last strip.
+     * @param workers number of workers.
+     * @param rows    number of rows of the game board.
+     * @return row number.
+     */
+    static int firstRow(int index, int workers, int rows) {
+        return (int) ((long) index * rows / workers);
+    }
+
+    /**
+     * Returns a hash of the words of a range of rows, the same for the same cells whichever board holds them.
+     *
+     * @param board   game board.
+     * @param fromRow first row, inclusive.
+     * @param toRow   last row, exclusive.
+     * @return hash of the rows.
+     */
+    static long hash(BitBoard board, int fromRow, int toRow) {
+        int words = board.getWordsPerRow();
+        long hash = 0;
+        for (int index = fromRow * words; index < toRow * words; index++) {
+            hash = (hash + board.getWord(index)) * 0x9E3779B97F4A7C15L;
+        }
+        return hash ^ hash >>> 29;
+    }
+
+    /**
+     * Seeds the rows of a strip as {@link Patterns#random(TickEngine, Random)} seeds them on the whole board.
+     *
+     * @param board     local game board.
+     * @param top       local row of the first row of the strip.
+     * @param firstRow  row of the whole board of the first row of the strip.
+     * @param stripRows number of rows of the strip.
+     * @param seed      seed of the random pattern.
+     */
+    private static void seed(BitBoard board, int top, int firstRow, int stripRows, long seed) {
+        int columns = board.getColumns();
+        Random generator = randomAfter(seed, (long) firstRow * columns);
+        for (int row = top; row < top + stripRows; row++) {
+            for (int col = 0; col < columns; col++) {
+                board.set(row, col, generator.nextInt(2));
+            }
+        }
+    }
+
+    /**
+     * Returns a generator in the state {@code new Random(seed)} is in after the given number of calls
+     * of {@code nextInt(2)}, each of which advances its linear congruential generator by a single step.
+     * The generator is jumped ahead by composing the step with itself in {@code O(log(draws))} time.
+     *
+     * @param seed  seed of the generator.
+     * @param draws number of skipped draws.
+     * @return generator continuing after the skipped draws.
+     */
+    static Random randomAfter(long seed, long draws) {
+        long multiplier = 1;
+        long addend = 0;
+        long stepMultiplier = MULTIPLIER;
+        long stepAddend = ADDEND;
+        for (long remaining = draws; remaining > 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                multiplier = multiplier * stepMultiplier & MASK;
+                addend = (addend * stepMultiplier + stepAddend) & MASK;
+            }
+            stepAddend = (stepMultiplier + 1) * stepAddend & MASK;
+            stepMultiplier = stepMultiplier * stepMultiplier & MASK;
+        }
+        long state = (multiplier * ((seed ^ MULTIPLIER) & MASK) + addend) & MASK;
+        //setSeed scrambles the seed by the multiplier, which cancels out the scrambling here
+        return new Random(state ^ MULTIPLIER);
+    }
+
+    /**
+     * Writes the whole buffer to a blocking channel.
+     *
+     * @param channel target channel.
+     * @param buffer  buffer ready to be read.
+     * @throws IOException if the channel cannot be written.
+     */
+    static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Fills the buffer up to its limit from a blocking channel and prepares it for reading.
+     *
+     * @param channel source channel.
+     * @param buffer  buffer ready to be written.
+     * @throws IOException if the channel cannot be read, {@link EOFException} if it is closed sooner.
+     */
+    static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Channel closed by " + channel.getRemoteAddress());
+            }
+        }
+        buffer.flip();
+    }
+}
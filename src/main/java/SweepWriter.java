@@ -0,0 +1,103 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * Streams the results of the simulations of a {@link SeedSweep} to a file, one record per seed in the order
+ * the simulations finish.
+ * </p>
+ * <p>
+ * Every record holds the seed, the number of generations computed, the final population, the first generation
+ * of the cycle the board settled into and its period, the last two {@code -1} and {@code 0} if the board did not
+ * settle within the generation limit. The records are written either as CSV with a header line, or as binary
+ * records of five big-endian {@code long}s in the same order.
+ * </p>
+ * <p>
+ * The writer is shared by all the workers of a sweep, every record is written under its lock through a buffer.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class SweepWriter implements Closeable {
+    /**
+     * Format of the results file.
+     */
+    public enum Format {
+        CSV,
+        BINARY
+    }
+
+    private static final String CSV_HEADER = "seed,generations,population,start,period\n";
+
+    private final Format format;
+    private final DataOutputStream out;
+    private final StringBuilder line = new StringBuilder();
+    private long records;
+
+    /**
+     * Creates the results file, replacing it if it exists.
+     *
+     * @param path   target file.
+     * @param format format of the records.
+     * @throws IOException if the file cannot be written.
+     */
+    public SweepWriter(Path path, Format format) throws IOException {
+        this.format = format;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        if (format == Format.CSV) {
+            out.writeBytes(CSV_HEADER);
+        }
+    }
+
+    /**
+     * Writes the result of the simulation of a single seed.
+     *
+     * @param seed   seed of the random pattern.
+     * @param result summary of the simulation.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void write(long seed, RunResult result) throws IOException {
+        Cycle cycle = result.getCycle();
+        long start = cycle == null ? -1 : cycle.getStart();
+        long period = cycle == null ? 0 : cycle.getPeriod();
+        if (format == Format.CSV) {
+            line.setLength(0);
+            line.append(seed).append(',')
+                    .append(result.getGenerations()).append(',')
+                    .append(result.getPopulation()).append(',')
+                    .append(start).append(',')
+                    .append(period).append('\n');
+            out.writeBytes(line.toString());
+        } else {
+            out.writeLong(seed);
+            out.writeLong(result.getGenerations());
+            out.writeLong(result.getPopulation());
+            out.writeLong(start);
+            out.writeLong(period);
+        }
+        records++;
+    }
+
+    /**
+     * Returns the number of records written so far.
+     *
+     * @return number of records.
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * Flushes the buffered records and closes the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
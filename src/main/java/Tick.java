@@ -1,8 +1,6 @@
-import javafx.geometry.Pos;
-import javafx.scene.layout.GridPane;
-
 /**
- * This {@code Tick} class provides logic necessary for performing ticks.
+ * This {@code Tick} class provides logic necessary for performing ticks. It does not touch JavaFX, so the
+ * {@link ArrayTickEngine} built on it runs headless, the game board is shown by {@link CellGrid} instead.
  *
  * @author Jan Gajda
  */
@@ -11,6 +9,7 @@ public final class Tick {
      * <p>
      * Given a 2D array of integers representing state of each {@link Cell}, applies the rules of Game Of Life to each
      * {@code Cell} and collects them in 2D array representing state of each {@code Cell} after applying these rules.
+     * Every {@code Cell} beyond the edges of the game board is considered dead.
      * </p>
      * <p>
      * The rules are:
@@ -27,70 +26,115 @@ public final class Tick {
      * of the John Conway's "Game Of Life".
      */
     public static int[][] getValuesAfterTick(int[][] beforeTick) {
-        int[][] afterTick = new int[beforeTick.length][beforeTick.length];
-        for (int row = 0; row < beforeTick.length; row++) {
-            for (int col = 0; col < beforeTick[row].length; col++) {
-                int sum = countNeighbours(beforeTick, row, col);
-                if (beforeTick[row][col] == 1) {
-                    if (sum < 2 || sum > 3) {
-                        afterTick[row][col] = 0;
-                    } else {
-                        afterTick[row][col] = 1;
-                    }
-                } else {
-                    if (sum == 3) {
-                        afterTick[row][col] = 1;
-                    } else {
-                        afterTick[row][col] = 0;
-                    }
-                }
-            }
-        }
-        return afterTick;
+        return getValuesAfterTick(beforeTick, Topology.DEAD);
+    }
+
+    /**
+     * <p>
+     * Given a 2D array of integers representing state of each {@link Cell}, applies the rules of Game Of Life to each
+     * {@code Cell} and collects them in 2D array representing state of each {@code Cell} after applying these rules.
+     * </p>
+     * <p>
+     * The interior of the game board, where all eight neighbours of a {@code Cell} exist, is counted without any
+     * bounds checks. Only the {@code Cell}s on the edges take the {@link Topology} of the game board into account.
+     * </p>
+     *
+     * @param beforeTick 2D array representing state of each {@code Cell} on a game board.
+     * @param topology   what lies beyond the edges of the game board.
+     * @return 2D array representing state of each {@code Cell} on a game board after applying the rules
+     * of the John Conway's "Game Of Life".
+     */
+    public static int[][] getValuesAfterTick(int[][] beforeTick, Topology topology) {
+        return getValuesAfterTick(beforeTick, topology, Rule.CONWAY);
     }
 
     /**
-     * Given a 2D array of integers representing state of each {@link Cell} after applying the rules of
-     * "Game Of Life", creates new {@code Cell} objects and adds them to {@link GridPane} for visual representation
-     * of the game board.
+     * <p>
+     * Given a 2D array of integers representing state of each {@link Cell}, applies the given {@link Rule}
+     * to each {@code Cell} and collects them in 2D array representing state of each {@code Cell} after applying
+     * the rule.
+     * </p>
+     * <p>
+     * The interior of the game board, where all eight neighbours of a {@code Cell} exist, is counted without any
+     * bounds checks. Only the {@code Cell}s on the edges take the {@link Topology} of the game board into account.
+     * </p>
      *
-     * @param afterTick 2D array representing state of each {@code Cell} on a game board after applying the rules
-     *                  of the John Conway's "Game Of Life".
-     * @return visual representation of a game board after performing the tick.
+     * @param beforeTick 2D array representing state of each {@code Cell} on a game board.
+     * @param topology   what lies beyond the edges of the game board.
+     * @param rule       rule of the automaton.
+     * @return 2D array representing state of each {@code Cell} on a game board after applying the rule.
      */
-    public static GridPane buildGridAfterTick(int[][] afterTick) {
-        GridPane gridPane = new GridPane();
-        for (int row = 0; row < GameOfLife.BOARD_SIZE; row++) {
-            for (int col = 0; col < GameOfLife.BOARD_SIZE; col++) {
-                Cell cell = new Cell(afterTick[row][col]);
-                gridPane.add(cell, col, row);
-                GameOfLife.beforeTick[row][col] = cell.getState();
+    public static int[][] getValuesAfterTick(int[][] beforeTick, Topology topology, Rule rule) {
+        int size = beforeTick.length;
+        int[][] afterTick = new int[size][size];
+        //Interior cells
+        for (int row = 1; row < size - 1; row++) {
+            for (int col = 1; col < size - 1; col++) {
+                int sum = countInteriorNeighbours(beforeTick, row, col);
+                afterTick[row][col] = rule.apply(beforeTick[row][col], sum);
             }
         }
-        gridPane.setAlignment(Pos.CENTER);
-        return gridPane;
+        //Border cells - the first and the last row, then the first and the last column of the remaining rows
+        for (int col = 0; col < size; col++) {
+            afterTick[0][col] = rule.apply(beforeTick[0][col], countNeighbours(beforeTick, 0, col, topology));
+            afterTick[size - 1][col] = rule.apply(beforeTick[size - 1][col],
+                    countNeighbours(beforeTick, size - 1, col, topology));
+        }
+        for (int row = 1; row < size - 1; row++) {
+            afterTick[row][0] = rule.apply(beforeTick[row][0], countNeighbours(beforeTick, row, 0, topology));
+            afterTick[row][size - 1] = rule.apply(beforeTick[row][size - 1],
+                    countNeighbours(beforeTick, row, size - 1, topology));
+        }
+        return afterTick;
     }
 
     /**
-     * Counts the number of alive {@link Cell}s surrounding the target {@code Cell}.
+     * Counts the number of alive {@link Cell}s surrounding the target {@code Cell}, which must not lie
+     * on the edge of the game board.
      *
      * @param board target game board.
      * @param row   row number of a target {@code Cell}.
      * @param col   column number of a target {@code Cell}.
      * @return sum of states of {@code Cell}s sorrounding the target {@code Cell}.
      */
-    private static int countNeighbours(int[][] board, int row, int col) {
+    private static int countInteriorNeighbours(int[][] board, int row, int col) {
+        int[] above = board[row - 1];
+        int[] current = board[row];
+        int[] below = board[row + 1];
+        return above[col - 1] + above[col] + above[col + 1]
+                + current[col - 1] + current[col + 1]
+                + below[col - 1] + below[col] + below[col + 1];
+    }
+
+    /**
+     * Counts the number of alive {@link Cell}s surrounding the target {@code Cell}, taking into account
+     * what lies beyond the edges of the game board.
+     *
+     * @param board    target game board.
+     * @param row      row number of a target {@code Cell}.
+     * @param col      column number of a target {@code Cell}.
+     * @param topology what lies beyond the edges of the game board.
+     * @return sum of states of {@code Cell}s sorrounding the target {@code Cell}.
+     */
+    private static int countNeighbours(int[][] board, int row, int col, Topology topology) {
+        int size = board.length;
         int sum = 0;
         for (int i = -1; i < 2; i++) {
             for (int j = -1; j < 2; j++) {
-                try {
-                    sum += board[row + i][col + j];
-                } catch (IndexOutOfBoundsException e) {
-                    //Catching IndexOutOfBoundException
+                if (i == 0 && j == 0) {
+                    continue;
+                }
+                int neighbourRow = row + i;
+                int neighbourCol = col + j;
+                if (topology == Topology.TOROIDAL) {
+                    neighbourRow = (neighbourRow + size) % size;
+                    neighbourCol = (neighbourCol + size) % size;
+                } else if (neighbourRow < 0 || neighbourRow >= size || neighbourCol < 0 || neighbourCol >= size) {
+                    continue;
                 }
+                sum += board[neighbourRow][neighbourCol];
             }
         }
-        sum -= board[row][col];
         return sum;
     }
 }
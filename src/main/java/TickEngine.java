@@ -0,0 +1,145 @@
+/**
+ * <p>
+ * Common contract for all the engines able to perform ticks of the "Game Of Life".
+ * </p>
+ * <p>
+ * An engine owns the state of a game board of {@link #getRows()} x {@link #getColumns()} {@link Cell}s.
+ * The state of a single {@code Cell} is exchanged as {@code int}, {@code 1} for an alive cell
+ * and {@code 0} for a dead cell, the same way as in the arrays of {@link Tick}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public interface TickEngine {
+    /**
+     * Returns the number of rows of the game board.
+     *
+     * @return number of rows.
+     */
+    int getRows();
+
+    /**
+     * Returns the number of columns of the game board.
+     *
+     * @return number of columns.
+     */
+    int getColumns();
+
+    /**
+     * Returns the state of a {@link Cell} at the given position.
+     *
+     * @param row row number of a target {@code Cell}.
+     * @param col column number of a target {@code Cell}.
+     * @return state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     */
+    int getState(int row, int col);
+
+    /**
+     * Sets the state of a {@link Cell} at the given position.
+     *
+     * @param row   row number of a target {@code Cell}.
+     * @param col   column number of a target {@code Cell}.
+     * @param state state of a Cell. 1 for an alive cell, 0 for a dead cell.
+     */
+    void setState(int row, int col, int state);
+
+    /**
+     * Makes alive a horizontal run of {@link Cell}s of a single row, e.g. while loading a pattern.
+     *
+     * @param row     row number of the run.
+     * @param fromCol column number of the first cell of the run, inclusive.
+     * @param toCol   column number of the last cell of the run, exclusive.
+     */
+    default void setAlive(int row, int fromCol, int toCol) {
+        for (int col = fromCol; col < toCol; col++) {
+            setState(row, col, 1);
+        }
+    }
+
+    /**
+     * Returns the rule the game board evolves by.
+     *
+     * @return rule of the automaton, {@link Rule#CONWAY} by default.
+     */
+    default Rule getRule() {
+        return Rule.CONWAY;
+    }
+
+    /**
+     * Returns what lies beyond the edges of the game board.
+     *
+     * @return topology of the game board, {@link Topology#DEAD} by default.
+     */
+    default Topology getTopology() {
+        return Topology.DEAD;
+    }
+
+    /**
+     * Performs a single tick, replacing the current generation with the next one.
+     */
+    void tick();
+
+    /**
+     * Returns the number of ticks performed since the board was last loaded or cleared.
+     *
+     * @return number of the current generation.
+     */
+    long getGeneration();
+
+    /**
+     * Kills every {@link Cell} on the game board and resets the generation counter, which only the engine
+     * can do, so there is no default.
+     */
+    void clear();
+
+    /**
+     * Returns the number of alive {@link Cell}s on the game board.
+     *
+     * @return number of alive cells.
+     */
+    default long getPopulation() {
+        long population = 0;
+        for (int row = 0; row < getRows(); row++) {
+            for (int col = 0; col < getColumns(); col++) {
+                population += getState(row, col);
+            }
+        }
+        return population;
+    }
+
+    /**
+     * Replaces the current state of the game board with the given 2D array and resets the generation counter.
+     *
+     * @param board 2D array representing state of each {@code Cell} on a game board.
+     */
+    default void load(int[][] board) {
+        clear();
+        for (int row = 0; row < getRows(); row++) {
+            for (int col = 0; col < getColumns(); col++) {
+                setState(row, col, board[row][col]);
+            }
+        }
+    }
+
+    /**
+     * Replaces the current state of the game board with the given bit-packed game board and sets the generation
+     * counter, e.g. when resuming from a {@link BoardSnapshot}.
+     *
+     * @param board      game board of the same dimensions.
+     * @param generation number of the generation of the given game board.
+     */
+    void load(BitBoard board, long generation);
+
+    /**
+     * Copies the current state of the game board into the given 2D array.
+     *
+     * @param board 2D array of at least {@link #getRows()} x {@link #getColumns()} size.
+     */
+    default void copyTo(int[][] board) {
+        for (int row = 0; row < getRows(); row++) {
+            for (int col = 0; col < getColumns(); col++) {
+                board[row][col] = getState(row, col);
+            }
+        }
+    }
+}
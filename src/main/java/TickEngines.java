@@ -0,0 +1,85 @@
+/**
+ * <p>
+ * This utility class creates {@link TickEngine}s by their names, so the engine can be chosen by configuration.
+ * </p>
+ * <ul>
+ *     <li>{@code array} - {@link ArrayTickEngine}, the reference {@code int[][]} implementation.</li>
+ *     <li>{@code bit} - {@link BitTickEngine}, bit-packed on a single thread.</li>
+ *     <li>{@code parallel} - {@link ParallelTickEngine}, bit-packed on multiple threads.</li>
+ *     <li>{@code incremental} - {@link IncrementalTickEngine}, bit-packed, recomputing only the active tiles.</li>
+ *     <li>{@code hashlife} - {@link HashLifeEngine}, memoized quadtree of an unbounded universe.</li>
+ *     <li>{@code lookup} - {@link LookupTickEngine}, bit-packed, following any Life-like {@link Rule}.</li>
+ *     <li>{@code vector} - {@link VectorTickEngine}, bit-packed, many words at once by SIMD instructions.</li>
+ * </ul>
+ * <p>
+ * Only the {@code array} and {@code lookup} engines follow rules other than {@link Rule#CONWAY}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class TickEngines {
+    /**
+     * Names of all the available engines.
+     */
+    public static final String[] NAMES = {"array", "bit", "parallel", "incremental", "hashlife", "lookup", "vector"};
+
+    private TickEngines() {
+    }
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s.
+     *
+     * @param name        name of the engine.
+     * @param rows        number of rows of the game board.
+     * @param columns     number of columns of the game board.
+     * @param topology    what lies beyond the edges of the game board, ignored by the unbounded engines.
+     * @param parallelism number of worker threads, used only by multithreaded engines.
+     * @return new engine.
+     * @throws IllegalArgumentException if there is no such engine, or it does not support the given dimensions.
+     */
+    public static TickEngine create(String name, int rows, int columns, Topology topology, int parallelism) {
+        return create(name, rows, columns, topology, parallelism, Rule.CONWAY);
+    }
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s following the given rule.
+     *
+     * @param name        name of the engine.
+     * @param rows        number of rows of the game board.
+     * @param columns     number of columns of the game board.
+     * @param topology    what lies beyond the edges of the game board, ignored by the unbounded engines.
+     * @param parallelism number of worker threads, used only by multithreaded engines.
+     * @param rule        rule of the automaton.
+     * @return new engine.
+     * @throws IllegalArgumentException if there is no such engine, or it does not support the given dimensions
+     *                                  or rule.
+     */
+    public static TickEngine create(String name, int rows, int columns, Topology topology, int parallelism,
+                                    Rule rule) {
+        String engineName = name.toLowerCase();
+        if (!rule.isConway() && !engineName.equals("array") && !engineName.equals("lookup")) {
+            throw new IllegalArgumentException(rule + " not allowed for " + name);
+        }
+        switch (engineName) {
+            case "array":
+                if (rows != columns) {
+                    throw new IllegalArgumentException(rows + " x " + columns + " not allowed for " + name);
+                }
+                return new ArrayTickEngine(rows, topology, rule);
+            case "bit":
+                return new BitTickEngine(rows, columns, topology);
+            case "parallel":
+                return new ParallelTickEngine(rows, columns, topology, parallelism);
+            case "incremental":
+                return new IncrementalTickEngine(rows, columns, topology);
+            case "hashlife":
+                return new HashLifeEngine(rows, columns);
+            case "lookup":
+                return new LookupTickEngine(rows, columns, topology, rule);
+            case "vector":
+                return new VectorTickEngine(rows, columns, topology);
+            default:
+                throw new IllegalArgumentException(name + " not allowed");
+        }
+    }
+}
@@ -0,0 +1,291 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>
+ * Measurements of the game loop: latency histograms of the tick and render phases, the population, the number
+ * of changed tiles and cells, and the heap allocated per generation.
+ * </p>
+ * <p>
+ * The loops measure a tick by {@link #beginTick()} and {@link #endTick(TickEngine)}, and a frame by
+ * {@link #beginRender()} and {@link #endRender()}, all of which return right away while the measurements are
+ * turned off, so the cost of leaving the instrumentation in place is a read of a volatile flag per phase.
+ * The ticks are measured by a single thread, the frames by a single, possibly other, thread. The population is
+ * counted at most every {@link #POPULATION_INTERVAL_NANOS}, as counting it means a pass over the whole board.
+ * </p>
+ * <p>
+ * The measurements can be read through JMX under {@link #OBJECT_NAME}, or written to the log periodically
+ * by {@link #startLogging(long)}.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class TickMetrics implements TickMetricsMBean {
+    /**
+     * Name of the MBean registered by {@link #register()}.
+     */
+    public static final String OBJECT_NAME = "GameOfLife:type=TickMetrics";
+    /**
+     * Shortest time between two counts of the population.
+     */
+    public static final long POPULATION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final Logger LOGGER = Logger.getLogger(TickMetrics.class.getName());
+
+    private final LatencyHistogram ticks = new LatencyHistogram();
+    private final LatencyHistogram renders = new LatencyHistogram();
+    private final com.sun.management.ThreadMXBean allocations = allocationBean();
+    private volatile boolean enabled;
+    private volatile long population;
+    private volatile long changedTiles = -1;
+    private volatile long changedCells = -1;
+    private volatile long allocatedBytes;
+    private long tickStart;
+    private long tickAllocationStart;
+    private boolean populationCounted;
+    private long lastPopulationCount;
+    private long renderStart;
+    private ScheduledExecutorService logger;
+
+    /**
+     * Creates metrics, which are turned off until {@link #setEnabled(boolean)} is called.
+     */
+    public TickMetrics() {
+    }
+
+    /**
+     * Registers the metrics at the platform MBean server under {@link #OBJECT_NAME}.
+     *
+     * @throws IllegalStateException if the MBean cannot be registered, e.g. because the name is taken.
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Starts a daemon thread writing a summary of the metrics to the log at the given period.
+     *
+     * @param periodSeconds time between two log lines in seconds.
+     */
+    public synchronized void startLogging(long periodSeconds) {
+        if (logger == null) {
+            logger = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.scheduleAtFixedRate(() -> LOGGER.info(toString()), periodSeconds, periodSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the log thread, if started.
+     */
+    public synchronized void stopLogging() {
+        if (logger != null) {
+            logger.shutdownNow();
+            logger = null;
+        }
+    }
+
+    /**
+     * Marks the start of a tick on the ticking thread.
+     */
+    public void beginTick() {
+        if (!enabled) {
+            return;
+        }
+        tickStart = System.nanoTime();
+        if (allocations != null) {
+            tickAllocationStart = allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    /**
+     * Marks the end of a tick started by {@link #beginTick()} on the same thread, and records its effects
+     * on the game board.
+     *
+     * @param engine engine which performed the tick.
+     */
+    public void endTick(TickEngine engine) {
+        if (!enabled || tickStart == 0) {
+            return;
+        }
+        long end = System.nanoTime();
+        ticks.record(end - tickStart);
+        tickStart = 0;
+        if (allocations != null) {
+            allocatedBytes += allocations.getThreadAllocatedBytes(Thread.currentThread().getId())
+                    - tickAllocationStart;
+        }
+        if (engine instanceof ChangeTracking) {
+            ChangeTracking changes = (ChangeTracking) engine;
+            changedTiles = changes.getChangedTileCount();
+            changedCells = changes.getChangedCellCount();
+        }
+        if (!populationCounted || end - lastPopulationCount >= POPULATION_INTERVAL_NANOS) {
+            population = engine.getPopulation();
+            populationCounted = true;
+            lastPopulationCount = end;
+        }
+    }
+
+    /**
+     * Marks the start of drawing a frame on the rendering thread.
+     */
+    public void beginRender() {
+        if (enabled) {
+            renderStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of drawing a frame started by {@link #beginRender()} on the same thread.
+     */
+    public void endRender() {
+        if (enabled && renderStart != 0) {
+            renders.record(System.nanoTime() - renderStart);
+            renderStart = 0;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        ticks.reset();
+        renders.reset();
+        allocatedBytes = 0;
+    }
+
+    @Override
+    public long getTickCount() {
+        return ticks.getCount();
+    }
+
+    @Override
+    public double getTickMeanMicros() {
+        return ticks.getMean() / 1e3;
+    }
+
+    @Override
+    public double getTickP50Micros() {
+        return ticks.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getTickP99Micros() {
+        return ticks.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getTickP999Micros() {
+        return ticks.getValueAtPercentile(99.9) / 1e3;
+    }
+
+    @Override
+    public double getTickMaxMicros() {
+        return ticks.getMax() / 1e3;
+    }
+
+    @Override
+    public long getRenderCount() {
+        return renders.getCount();
+    }
+
+    @Override
+    public double getRenderMeanMicros() {
+        return renders.getMean() / 1e3;
+    }
+
+    @Override
+    public double getRenderP50Micros() {
+        return renders.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getRenderP99Micros() {
+        return renders.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getRenderP999Micros() {
+        return renders.getValueAtPercentile(99.9) / 1e3;
+    }
+
+    @Override
+    public double getRenderMaxMicros() {
+        return renders.getMax() / 1e3;
+    }
+
+    @Override
+    public long getPopulation() {
+        return population;
+    }
+
+    @Override
+    public long getChangedTiles() {
+        return changedTiles;
+    }
+
+    @Override
+    public long getChangedCells() {
+        return changedCells;
+    }
+
+    @Override
+    public double getAllocatedBytesPerGeneration() {
+        long count = ticks.getCount();
+        if (allocations == null) {
+            return -1;
+        }
+        return count == 0 ? 0 : (double) allocatedBytes / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ticks %d, tick p50 %.1f us p99 %.1f us p99.9 %.1f us max %.1f us,"
+                        + " renders %d, render p50 %.1f us p99 %.1f us max %.1f us,"
+                        + " population %d, changed tiles %d, changed cells %d, allocated %.0f B/generation",
+                getTickCount(), getTickP50Micros(), getTickP99Micros(), getTickP999Micros(), getTickMaxMicros(),
+                getRenderCount(), getRenderP50Micros(), getRenderP99Micros(), getRenderMaxMicros(),
+                getPopulation(), getChangedTiles(), getChangedCells(), getAllocatedBytesPerGeneration());
+    }
+
+    /**
+     * Returns the bean measuring the heap allocated by a thread, if the JVM provides one.
+     *
+     * @return bean measuring allocations, or {@code null} if not supported.
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Management interface of {@link TickMetrics}, exposed through JMX. The latencies are given in microseconds.
+ *
+ * @author Jan Gajda
+ */
+public interface TickMetricsMBean {
+    /**
+     * Returns whether the ticks and frames are being measured.
+     *
+     * @return {@code true} if the measurements are turned on.
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns the measurements on or off.
+     *
+     * @param enabled {@code true} to measure the ticks and frames.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Forgets all the measurements.
+     */
+    void reset();
+
+    /**
+     * Returns the number of measured ticks.
+     *
+     * @return number of ticks.
+     */
+    long getTickCount();
+
+    /**
+     * Returns the mean latency of a tick.
+     *
+     * @return latency in microseconds.
+     */
+    double getTickMeanMicros();
+
+    /**
+     * Returns the median latency of a tick.
+     *
+     * @return latency in microseconds.
+     */
+    double getTickP50Micros();
+
+    /**
+     * Returns the 99th percentile of latency of a tick.
+     *
+     * @return latency in microseconds.
+     */
+    double getTickP99Micros();
+
+    /**
+     * Returns the 99.9th percentile of latency of a tick.
+     *
+     * @return latency in microseconds.
+     */
+    double getTickP999Micros();
+
+    /**
+     * Returns the longest latency of a tick.
+     *
+     * @return latency in microseconds.
+     */
+    double getTickMaxMicros();
+
+    /**
+     * Returns the number of measured frames.
+     *
+     * @return number of frames.
+     */
+    long getRenderCount();
+
+    /**
+     * Returns the mean latency of a frame.
+     *
+     * @return latency in microseconds.
+     */
+    double getRenderMeanMicros();
+
+    /**
+     * Returns the median latency of a frame.
+     *
+     * @return latency in microseconds.
+     */
+    double getRenderP50Micros();
+
+    /**
+     * Returns the 99th percentile of latency of a frame.
+     *
+     * @return latency in microseconds.
+     */
+    double getRenderP99Micros();
+
+    /**
+     * Returns the 99.9th percentile of latency of a frame.
+     *
+     * @return latency in microseconds.
+     */
+    double getRenderP999Micros();
+
+    /**
+     * Returns the longest latency of a frame.
+     *
+     * @return latency in microseconds.
+     */
+    double getRenderMaxMicros();
+
+    /**
+     * Returns the number of alive cells, sampled at most every few ticks.
+     *
+     * @return number of alive cells.
+     */
+    long getPopulation();
+
+    /**
+     * Returns the number of tiles which changed in the last tick, for engines implementing {@link ChangeTracking}.
+     *
+     * @return number of changed tiles, or {@code -1} if the engine does not track its changes.
+     */
+    long getChangedTiles();
+
+    /**
+     * Returns the number of cells which changed in the last tick, for engines implementing {@link ChangeTracking}.
+     *
+     * @return number of changed cells, or {@code -1} if the engine does not track its changes.
+     */
+    long getChangedCells();
+
+    /**
+     * Returns the mean number of bytes allocated on the heap by a tick.
+     *
+     * @return allocated bytes per generation, or {@code -1} if the JVM does not measure allocations.
+     */
+    double getAllocatedBytesPerGeneration();
+}
@@ -0,0 +1,22 @@
+/**
+ * <p>
+ * Describes what lies beyond the edges of a finite game board.
+ * </p>
+ * <ol>
+ *     <li>{@link #DEAD} - every {@link Cell} beyond the edges is permanently dead.</li>
+ *     <li>{@link #TOROIDAL} - the edges wrap around, the first row neighbours the last one and
+ *     the first column neighbours the last one.</li>
+ * </ol>
+ *
+ * @author Jan Gajda
+ */
+public enum Topology {
+    /**
+     * Every {@link Cell} beyond the edges of a game board is permanently dead.
+     */
+    DEAD,
+    /**
+     * The edges of a game board wrap around, forming a torus.
+     */
+    TOROIDAL
+}
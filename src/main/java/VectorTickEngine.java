@@ -0,0 +1,94 @@
+/**
+ * <p>
+ * {@link TickEngine} on bit-packed game boards computing many words of a row at once with SIMD instructions.
+ * </p>
+ * <p>
+ * The kernel {@code VectorKernel} is built on the {@code jdk.incubator.vector} API from the {@code vector} source
+ * set, which is compiled only when Gradle runs on JDK 16 and later. It applies the same bitwise full adders as
+ * {@link BitTickEngine} to whole vectors of words, e.g. 8 words or 512 {@link Cell}s per instruction on AVX-512.
+ * The kernel is looked up by name when the engine is created, and if it is missing, or the JVM was started without
+ * {@code --add-modules jdk.incubator.vector}, the engine falls back to the scalar kernel of {@code BitTickEngine}.
+ * The results are identical either way.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+public final class VectorTickEngine extends AbstractBitTickEngine {
+    /**
+     * Name of the class of the vectorized kernel.
+     */
+    private static final String VECTOR_KERNEL = "VectorKernel";
+
+    private final Kernel kernel;
+
+    /**
+     * Creates an engine with a game board of dead {@link Cell}s, using the vectorized kernel if available.
+     *
+     * @param rows     number of rows of the game board.
+     * @param columns  number of columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     */
+    public VectorTickEngine(int rows, int columns, Topology topology) {
+        super(rows, columns, topology);
+        this.kernel = loadKernel();
+    }
+
+    @Override
+    protected void computeGeneration(BitBoard src, BitBoard dst) {
+        kernel.computeRows(src, dst, topology, 0, src.getRows());
+    }
+
+    /**
+     * Returns the name of the kernel computing the generations.
+     *
+     * @return description of the vectorized kernel, e.g. {@code "LongVector x 8"}, or {@code "scalar"}.
+     */
+    public String getKernelName() {
+        return kernel.toString();
+    }
+
+    /**
+     * Looks up the vectorized kernel, falling back to the scalar one.
+     *
+     * @return vectorized kernel, or scalar kernel if the Vector API is not available.
+     */
+    private static Kernel loadKernel() {
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarKernel();
+        }
+    }
+
+    /**
+     * Computes rows of the next generation of a bit-packed game board.
+     */
+    interface Kernel {
+        /**
+         * Computes the rows {@code [fromRow, toRow)} of the next generation of the {@code src} game board and
+         * stores them in the {@code dst} game board.
+         *
+         * @param src      game board of the current generation.
+         * @param dst      game board of the next generation, of the same dimensions as {@code src}.
+         * @param topology what lies beyond the edges of the game board.
+         * @param fromRow  first row to compute, inclusive.
+         * @param toRow    last row to compute, exclusive.
+         */
+        void computeRows(BitBoard src, BitBoard dst, Topology topology, int fromRow, int toRow);
+    }
+
+    /**
+     * Kernel of {@link BitTickEngine}, computing a single word at a time.
+     */
+    private static final class ScalarKernel implements Kernel {
+        @Override
+        public void computeRows(BitBoard src, BitBoard dst, Topology topology, int fromRow, int toRow) {
+            BitTickEngine.computeRows(src, dst, topology, fromRow, toRow);
+        }
+
+        @Override
+        public String toString() {
+            return "scalar";
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Saves {@link BoardSnapshot}s of game boards whose rows do not fill their last word, with runs of empty blocks,
+ * and loads and restores them.
+ *
+ * @author Jan Gajda
+ */
+public class BoardSnapshotTest {
+    private static final int ROWS = 300;
+    private static final int COLUMNS = 4097;
+    private static final Rule HIGH_LIFE = Rule.parse("B36/S23");
+
+    @Test
+    public void deadBoardSurvivesRoundTrip() throws IOException {
+        checkRoundTrip(Topology.DEAD);
+    }
+
+    @Test
+    public void toroidalBoardSurvivesRoundTrip() throws IOException {
+        checkRoundTrip(Topology.TOROIDAL);
+    }
+
+    @Test
+    public void mismatchedEngineIsRejected() throws IOException {
+        Path path = Files.createTempFile("snapshot", ".gols");
+        try {
+            BoardSnapshot.of(seed(Topology.DEAD)).save(path);
+            checkRejected(path, new LookupTickEngine(ROWS, COLUMNS + 1, Topology.DEAD, HIGH_LIFE));
+            checkRejected(path, new LookupTickEngine(ROWS, COLUMNS, Topology.DEAD, Rule.CONWAY));
+            checkRejected(path, new LookupTickEngine(ROWS, COLUMNS, Topology.TOROIDAL, HIGH_LIFE));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Saves a snapshot of a running engine, then loads it, and restores it into another engine.
+     *
+     * @param topology what lies beyond the edges of the game board.
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    private static void checkRoundTrip(Topology topology) throws IOException {
+        Path path = Files.createTempFile("snapshot", ".gols");
+        try {
+            TickEngine engine = seed(topology);
+            BoardSnapshot.of(engine).save(path);
+
+            BoardSnapshot loaded = BoardSnapshot.load(path);
+            assertEquals(engine.getGeneration(), loaded.getGeneration());
+            assertEquals(HIGH_LIFE.toString(), loaded.getRule());
+            assertEquals(topology, loaded.getTopology());
+            BitBoard board = loaded.getBoard();
+            for (int row = 0; row < ROWS; row++) {
+                for (int col = 0; col < COLUMNS; col++) {
+                    assertEquals(row + ", " + col, engine.getState(row, col), board.get(row, col));
+                }
+            }
+
+            TickEngine restored = new LookupTickEngine(ROWS, COLUMNS, topology, HIGH_LIFE);
+            restored.setState(ROWS - 2, 1, 1);
+            BoardSnapshot.restore(path, restored);
+            assertEquals(engine.getGeneration(), restored.getGeneration());
+            for (int row = 0; row < ROWS; row++) {
+                for (int col = 0; col < COLUMNS; col++) {
+                    assertEquals(row + ", " + col, engine.getState(row, col), restored.getState(row, col));
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Creates an engine with a random pattern in its first rows and last column only, so most of the blocks
+     * of the game board are empty, and ticks it a few times.
+     *
+     * @param topology what lies beyond the edges of the game board.
+     * @return engine at generation 5.
+     */
+    private static TickEngine seed(Topology topology) {
+        TickEngine engine = new LookupTickEngine(ROWS, COLUMNS, topology, HIGH_LIFE);
+        Random generator = new Random(3);
+        for (int row = 0; row < 40; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                engine.setState(row, col, generator.nextInt(2));
+            }
+        }
+        for (int row = 100; row < ROWS; row++) {
+            engine.setState(row, COLUMNS - 1, generator.nextInt(2));
+        }
+        for (int i = 0; i < 5; i++) {
+            engine.tick();
+        }
+        return engine;
+    }
+
+    /**
+     * Checks that a snapshot file cannot be restored into an engine.
+     *
+     * @param path   snapshot file.
+     * @param engine engine differing from the snapshot.
+     * @throws IOException if the snapshot cannot be read.
+     */
+    private static void checkRejected(Path path, TickEngine engine) throws IOException {
+        try {
+            BoardSnapshot.restore(path, engine);
+            fail(engine.getRows() + " x " + engine.getColumns() + " " + engine.getRule() + " "
+                    + engine.getTopology() + " engine accepted");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
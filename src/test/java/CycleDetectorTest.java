@@ -0,0 +1,111 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@link CycleDetector} on patterns of known periods, on an engine of each way of hashing the game board:
+ * all the cells of {@code array}, all the words of {@code bit} and the changed tiles of {@code incremental}.
+ *
+ * @author Jan Gajda
+ */
+public class CycleDetectorTest {
+    private static final String[] ENGINES = {"array", "bit", "incremental"};
+    private static final String BLOCK = "2o$2o!";
+    private static final String BLINKER = "3o!";
+    private static final String PULSAR = "2b3o3b3o2$o4bobo4bo$o4bobo4bo$o4bobo4bo$2b3o3b3o2$2b3o3b3o$o4bobo4bo$"
+            + "o4bobo4bo$o4bobo4bo2$2b3o3b3o!";
+    private static final String GLIDER = "bo$2bo$3o!";
+
+    @Test
+    public void blockIsStillLife() {
+        for (String name : ENGINES) {
+            Cycle cycle = detect(name, 20, Topology.DEAD, BLOCK, 16, 10);
+            assertTrue(name, cycle.isStillLife());
+            assertEquals(name, 0, cycle.getStart());
+        }
+    }
+
+    @Test
+    public void blinkerHasPeriodTwo() {
+        for (String name : ENGINES) {
+            Cycle cycle = detect(name, 20, Topology.DEAD, BLINKER, 16, 10);
+            assertEquals(name, 0, cycle.getStart());
+            assertEquals(name, 2, cycle.getPeriod());
+        }
+    }
+
+    @Test
+    public void pulsarHasPeriodThree() {
+        for (String name : ENGINES) {
+            Cycle cycle = detect(name, 30, Topology.DEAD, PULSAR, 16, 10);
+            assertEquals(name, 0, cycle.getStart());
+            assertEquals(name, 3, cycle.getPeriod());
+        }
+    }
+
+    @Test
+    public void gliderCrossesTorusInFourGenerationsPerCell() {
+        for (String name : ENGINES) {
+            Cycle cycle = detect(name, 40, Topology.TOROIDAL, GLIDER, 160, 400);
+            assertEquals(name, 0, cycle.getStart());
+            assertEquals(name, 160, cycle.getPeriod());
+        }
+    }
+
+    @Test
+    public void periodLongerThanHistoryIsNotFound() {
+        for (String name : ENGINES) {
+            assertNull(name, detect(name, 40, Topology.TOROIDAL, GLIDER, 159, 400));
+        }
+    }
+
+    @Test
+    public void resetForgetsGenerations() {
+        TickEngine engine = TickEngines.create("bit", 20, 20, Topology.DEAD, 1);
+        PatternLoader.loadRle(BLINKER, engine, 5, 5);
+        CycleDetector detector = new CycleDetector(16);
+        detector.observe(engine);
+        engine.tick();
+        assertNull(detector.observe(engine));
+        engine.tick();
+        Cycle cycle = detector.observe(engine);
+        assertNotNull(cycle);
+        engine.tick();
+        assertSame(cycle, detector.observe(engine));
+
+        detector.reset();
+        assertNull(detector.getCycle());
+        engine.clear();
+        PatternLoader.loadRle(BLOCK, engine, 5, 5);
+        assertNull(detector.observe(engine));
+        engine.tick();
+        assertTrue(detector.observe(engine).isStillLife());
+    }
+
+    /**
+     * Ticks an engine seeded with a pattern until its game board repeats.
+     *
+     * @param name        name of the engine.
+     * @param size        number of rows and columns of the game board.
+     * @param topology    what lies beyond the edges of the game board.
+     * @param rle         pattern in the RLE format, placed near the top-left corner.
+     * @param history     number of recent generations checked for a cycle.
+     * @param generations maximal number of ticks.
+     * @return cycle found, or {@code null} if the game board did not repeat.
+     */
+    private static Cycle detect(String name, int size, Topology topology, String rle, int history, int generations) {
+        TickEngine engine = TickEngines.create(name, size, size, topology, 1);
+        PatternLoader.loadRle(rle, engine, 2, 2);
+        CycleDetector detector = new CycleDetector(history);
+        Cycle cycle = detector.observe(engine);
+        for (int i = 0; i < generations && cycle == null; i++) {
+            engine.tick();
+            cycle = detector.observe(engine);
+        }
+        return cycle;
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@link DistributedRunner} in this JVM, with the {@link StripWorker}s on threads instead of processes,
+ * and checks the strips against a single engine.
+ *
+ * @author Jan Gajda
+ */
+public class DistributedRunnerTest {
+    private static final int WORKERS = 3;
+    private static final int SIZE = 100;
+    private static final long SEED = 42;
+
+    @Test(timeout = 60000)
+    public void stripsOfDeadBoardMatchSingleEngine() throws Exception {
+        assertTrue(DistributedRunner.verify(SIZE, Topology.DEAD, SEED, 50, run(Topology.DEAD, 4, 50)));
+    }
+
+    @Test(timeout = 60000)
+    public void stripsOfToroidalBoardMatchSingleEngine() throws Exception {
+        assertTrue(DistributedRunner.verify(SIZE, Topology.TOROIDAL, SEED, 50, run(Topology.TOROIDAL, 4, 50)));
+    }
+
+    @Test(timeout = 60000)
+    public void haloWidthDoesNotChangeStrips() throws Exception {
+        assertArrayEquals(run(Topology.TOROIDAL, 1, 23), run(Topology.TOROIDAL, 7, 23));
+    }
+
+    /**
+     * Runs a distributed simulation of the random pattern.
+     *
+     * @param topology    what lies beyond the edges of the game board.
+     * @param halo        number of halo rows exchanged at once.
+     * @param generations number of generations.
+     * @return hashes of the strips computed by the workers.
+     * @throws Exception if the coordinator or any worker fails.
+     */
+    private static long[] run(Topology topology, int halo, long generations) throws Exception {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            InetSocketAddress address = (InetSocketAddress) server.getLocalAddress();
+            List<Thread> workers = new ArrayList<>();
+            List<IOException> failures = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < WORKERS; i++) {
+                Thread worker = new Thread(() -> {
+                    try {
+                        StripWorker.run(address);
+                    } catch (IOException e) {
+                        failures.add(e);
+                    }
+                }, "worker-" + i);
+                worker.start();
+                workers.add(worker);
+            }
+            long[] hashes = DistributedRunner.coordinate(server, Collections.emptyList(), WORKERS, SIZE, halo,
+                    topology, SEED, generations);
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            assertTrue(failures.toString(), failures.isEmpty());
+            return hashes;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Records runs by {@link GenerationRecorder} and replays every generation of them by {@link GenerationReader}.
+ *
+ * @author Jan Gajda
+ */
+public class GenerationRecorderTest {
+    private static final int ROWS = 100;
+    private static final int COLUMNS = 130;
+    private static final int KEYFRAME_INTERVAL = 7;
+    private static final int GENERATIONS = 60;
+    /**
+     * Offset of the topology ordinal in the header.
+     */
+    private static final int TOPOLOGY_OFFSET = Integer.BYTES + Short.BYTES;
+    /**
+     * Offset of the length of the rule in the header.
+     */
+    private static final int RULE_LENGTH_OFFSET = TOPOLOGY_OFFSET + Byte.BYTES + 3 * Integer.BYTES;
+
+    @Test
+    public void replaysEveryGeneration() throws IOException {
+        Path path = Files.createTempFile("recording", ".golr");
+        try {
+            int[][][] expected = record(path, Topology.TOROIDAL);
+            try (GenerationReader reader = new GenerationReader(path)) {
+                assertEquals(Topology.TOROIDAL, reader.getTopology());
+                assertEquals(Rule.CONWAY.toString(), reader.getRule());
+                assertEquals(KEYFRAME_INTERVAL, reader.getKeyframeInterval());
+                assertEquals(0, reader.getFirstGeneration());
+                assertEquals(GENERATIONS, reader.getLastGeneration());
+                for (int generation = 0; generation <= GENERATIONS; generation++) {
+                    assertBoard(expected[generation], reader.read(generation));
+                }
+                //Backwards, every read jumps to a keyframe
+                for (int generation = GENERATIONS; generation >= 0; generation--) {
+                    assertBoard(expected[generation], reader.read(generation));
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void replaysRecordingCutShort() throws IOException {
+        Path path = Files.createTempFile("recording", ".golr");
+        try {
+            int[][][] expected = record(path, Topology.DEAD);
+            //Cuts off the index and the end of the last record
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(trailer, channel.size() - Long.BYTES - Integer.BYTES);
+                channel.truncate(trailer.getLong(0) - 3);
+            }
+            try (GenerationReader reader = new GenerationReader(path)) {
+                assertEquals(GENERATIONS - 1, reader.getLastGeneration());
+                for (int generation = 0; generation < GENERATIONS; generation++) {
+                    assertBoard(expected[generation], reader.read(generation));
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsCorruptTopology() throws IOException {
+        corruptHeader(TOPOLOGY_OFFSET, (byte) 9);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsCorruptRuleLength() throws IOException {
+        corruptHeader(RULE_LENGTH_OFFSET + 1, (byte) 0xFF);
+    }
+
+    /**
+     * Records a run of the random pattern by a lossless recorder.
+     *
+     * @param path     recording file.
+     * @param topology what lies beyond the edges of the game board.
+     * @return cells of every recorded generation.
+     * @throws IOException if the recording cannot be written.
+     */
+    private static int[][][] record(Path path, Topology topology) throws IOException {
+        TickEngine engine = new BitTickEngine(ROWS, COLUMNS, topology);
+        Patterns.random(engine, new Random(5));
+        int[][][] expected = new int[GENERATIONS + 1][ROWS][COLUMNS];
+        try (GenerationRecorder recorder = new GenerationRecorder(path, engine, KEYFRAME_INTERVAL, true)) {
+            for (int generation = 0; generation <= GENERATIONS; generation++) {
+                engine.copyTo(expected[generation]);
+                recorder.record(engine);
+                engine.tick();
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Records a run, overwrites a byte of its header and opens it.
+     *
+     * @param offset position of the byte in the file.
+     * @param value  new value of the byte.
+     * @throws IOException if the recording cannot be written, or is rejected by the reader.
+     */
+    private static void corruptHeader(int offset, byte value) throws IOException {
+        Path path = Files.createTempFile("recording", ".golr");
+        try {
+            record(path, Topology.DEAD);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{value}), offset);
+            }
+            new GenerationReader(path).close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Checks that a snapshot holds the given cells.
+     *
+     * @param expected cells of the generation.
+     * @param snapshot snapshot read from the recording.
+     */
+    private static void assertBoard(int[][] expected, BoardSnapshot snapshot) {
+        BitBoard board = snapshot.getBoard();
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                assertEquals("generation " + snapshot.getGeneration() + " cell " + row + ", " + col,
+                        expected[row][col], board.get(row, col));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link HashLifeEngine} against the reference {@link ArrayTickEngine} on a board large enough for
+ * the pattern to stay clear of its edges, so the unbounded universe and the bounded board evolve alike.
+ *
+ * @author Jan Gajda
+ */
+public class HashLifeEngineTest {
+    private static final int SIZE = 512;
+    /**
+     * The R-pentomino, growing for more than a thousand generations and sending out gliders.
+     */
+    private static final int[][] R_PENTOMINO = {{0, 1}, {0, 2}, {1, 0}, {1, 1}, {2, 1}};
+
+    @Test
+    public void tickMatchesArrayEngine() {
+        TickEngine reference = seed(new ArrayTickEngine(SIZE, Topology.DEAD, Rule.CONWAY));
+        HashLifeEngine engine = seed(new HashLifeEngine(SIZE, SIZE));
+        for (int generation = 0; generation < 200; generation++) {
+            reference.tick();
+            engine.tick();
+            assertSame(reference, engine);
+        }
+    }
+
+    @Test
+    public void advanceMatchesArrayEngine() {
+        TickEngine reference = seed(new ArrayTickEngine(SIZE, Topology.DEAD, Rule.CONWAY));
+        HashLifeEngine engine = seed(new HashLifeEngine(SIZE, SIZE));
+        for (int steps = 1; steps <= 20; steps++) {
+            advance(reference, steps);
+            engine.advance(steps);
+            assertSame(reference, engine);
+        }
+        for (int k = 0; k <= 6; k++) {
+            advance(reference, 1 << k);
+            engine.advancePow2(k);
+            assertSame(reference, engine);
+        }
+    }
+
+    @Test
+    public void garbageCollectionKeepsUniverse() {
+        TickEngine reference = seed(new ArrayTickEngine(SIZE, Topology.DEAD, Rule.CONWAY));
+        HashLifeEngine engine = seed(new HashLifeEngine(SIZE, SIZE));
+        HashLifeEngine collected = seed(new HashLifeEngine(SIZE, SIZE, 1000));
+        for (int steps = 1; steps <= 20; steps++) {
+            advance(reference, steps);
+            engine.advance(steps);
+            collected.advance(steps);
+            assertSame(reference, collected);
+        }
+        assertTrue(collected.getNodeCount() < engine.getNodeCount());
+    }
+
+    @Test
+    public void loadBitBoardKeepsCellsAndGeneration() {
+        BitBoard board = new BitBoard(300, 4097);
+        board.set(0, 0, 1);
+        board.set(150, 63, 1);
+        board.set(150, 64, 1);
+        board.set(299, 4096, 1);
+        HashLifeEngine engine = new HashLifeEngine(300, 4097);
+        engine.load(board, 42);
+        assertEquals(42, engine.getGeneration());
+        assertEquals(4, engine.getPopulation());
+        int[][] cells = new int[300][4097];
+        engine.copyTo(cells);
+        for (int row = 0; row < 300; row++) {
+            for (int col = 0; col < 4097; col++) {
+                assertEquals(row + ", " + col, board.get(row, col), cells[row][col]);
+            }
+        }
+    }
+
+    /**
+     * Places the Queen Bee shuttle at the center and the R-pentomino away from it.
+     *
+     * @param engine engine with an empty game board.
+     * @param <T>    type of the engine.
+     * @return the engine.
+     */
+    private static <T extends TickEngine> T seed(T engine) {
+        Patterns.queenBee(engine);
+        for (int[] cell : R_PENTOMINO) {
+            engine.setState(SIZE / 4 + cell[0], SIZE / 4 + cell[1], 1);
+        }
+        return engine;
+    }
+
+    /**
+     * Ticks an engine the given number of times.
+     *
+     * @param engine      target engine.
+     * @param generations number of ticks.
+     */
+    private static void advance(TickEngine engine, int generations) {
+        for (int i = 0; i < generations; i++) {
+            engine.tick();
+        }
+    }
+
+    /**
+     * Checks that both engines are at the same generation with the same cells, and that no cell of the
+     * unbounded universe has left the window.
+     *
+     * @param reference reference engine.
+     * @param engine    HashLife engine.
+     */
+    private static void assertSame(TickEngine reference, HashLifeEngine engine) {
+        assertEquals(reference.getGeneration(), engine.getGeneration());
+        assertEquals("population of generation " + engine.getGeneration(),
+                reference.getPopulation(), engine.getPopulation());
+        int[][] expected = new int[SIZE][SIZE];
+        int[][] actual = new int[SIZE][SIZE];
+        reference.copyTo(expected);
+        engine.copyTo(actual);
+        for (int row = 0; row < SIZE; row++) {
+            assertArrayEquals(expected[row], actual[row]);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Parses RLE and Life 1.06 patterns by {@link PatternLoader} onto small game boards.
+ *
+ * @author Jan Gajda
+ */
+public class PatternLoaderTest {
+    private static final String GLIDER = "x = 3, y = 3, rule = B3/S23\nbob$2bo$3o!\n";
+
+    @Test
+    public void rleIsCenteredByBoundingBox() throws IOException {
+        TickEngine engine = new ArrayTickEngine(11, Topology.DEAD, Rule.CONWAY);
+        assertEquals(5, PatternLoader.load(new BufferedReader(new StringReader(GLIDER)), engine));
+        assertCells(engine, new int[][]{{4, 5}, {5, 6}, {6, 4}, {6, 5}, {6, 6}});
+    }
+
+    @Test
+    public void rleRunsSpanRowsAndLines() {
+        TickEngine engine = new ArrayTickEngine(10, Topology.DEAD, Rule.CONWAY);
+        assertEquals(6, PatternLoader.loadRle("#C comment\n2o\nb$\n2$3b\n4o!", engine, 1, 2));
+        assertCells(engine, new int[][]{{1, 2}, {1, 3}, {4, 5}, {4, 6}, {4, 7}, {4, 8}});
+    }
+
+    @Test
+    public void rleIsClippedByBoard() {
+        TickEngine engine = new ArrayTickEngine(5, Topology.DEAD, Rule.CONWAY);
+        assertEquals(4, PatternLoader.loadRle("6o$o$3bo$3bo!", engine, 2, -3));
+        assertCells(engine, new int[][]{{2, 0}, {2, 1}, {2, 2}, {4, 0}});
+    }
+
+    @Test
+    public void life106IsCenteredByOrigin() throws IOException {
+        TickEngine engine = new ArrayTickEngine(9, Topology.DEAD, Rule.CONWAY);
+        String pattern = "#Life 1.06\n#D comment\n0 0\n1 0\n-1 2\n100 100\n-5 -5";
+        assertEquals(3, PatternLoader.load(new BufferedReader(new StringReader(pattern)), engine));
+        assertCells(engine, new int[][]{{4, 4}, {4, 5}, {6, 3}});
+    }
+
+    @Test(expected = IOException.class)
+    public void malformedRleHeaderIsRejected() throws IOException {
+        TickEngine engine = new ArrayTickEngine(9, Topology.DEAD, Rule.CONWAY);
+        PatternLoader.load(new BufferedReader(new StringReader("x = 3 y = 3\n3o!")), engine);
+    }
+
+    @Test(expected = IOException.class)
+    public void rleWithoutHeaderOrPositionIsRejected() throws IOException {
+        TickEngine engine = new ArrayTickEngine(9, Topology.DEAD, Rule.CONWAY);
+        PatternLoader.load(new BufferedReader(new StringReader("3o!")), engine);
+    }
+
+    @Test
+    public void ruleIsRestOfHeaderLine() throws IOException {
+        String bounded = "x = 3, y = 3, rule = B36/S23:T100,100\nbob$2bo$3o!\n";
+        assertEquals(Rule.parse("B36/S23"), readRule(bounded));
+        TickEngine engine = new ArrayTickEngine(11, Topology.DEAD, Rule.CONWAY);
+        assertEquals(5, PatternLoader.load(new BufferedReader(new StringReader(bounded)), engine));
+        assertCells(engine, new int[][]{{4, 5}, {5, 6}, {6, 4}, {6, 5}, {6, 6}});
+    }
+
+    @Test
+    public void ruleIsReadFromCommentOrHeader() throws IOException {
+        assertEquals(Rule.CONWAY, readRule(GLIDER));
+        assertEquals(Rule.parse("B36/S23"), readRule("#N name\n#r B36/S23\nx = 3, y = 3\nbob$2bo$3o!\n"));
+        assertNull(readRule("x = 3, y = 3\nbob$2bo$3o!\n"));
+        assertNull(readRule("#Life 1.06\n0 0\n"));
+    }
+
+    /**
+     * Reads the rule of a pattern by {@link PatternLoader#readRule(Path)}.
+     *
+     * @param pattern content of the pattern file.
+     * @return rule of the pattern, or {@code null} if it does not name any.
+     * @throws IOException if the file cannot be written or read.
+     */
+    private static Rule readRule(String pattern) throws IOException {
+        Path path = Files.createTempFile("pattern", ".rle");
+        try {
+            Files.write(path, pattern.getBytes(StandardCharsets.UTF_8));
+            return PatternLoader.readRule(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Checks that exactly the given cells of the game board are alive.
+     *
+     * @param engine engine holding the game board.
+     * @param alive  row and column numbers of the alive cells.
+     */
+    private static void assertCells(TickEngine engine, int[][] alive) {
+        int[][] expected = new int[engine.getRows()][engine.getColumns()];
+        for (int[] cell : alive) {
+            expected[cell[0]][cell[1]] = 1;
+        }
+        for (int row = 0; row < engine.getRows(); row++) {
+            for (int col = 0; col < engine.getColumns(); col++) {
+                assertEquals(row + ", " + col, expected[row][col], engine.getState(row, col));
+            }
+        }
+    }
+}
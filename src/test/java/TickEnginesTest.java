@@ -0,0 +1,94 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Checks every bounded engine of {@link TickEngines} against the reference {@link ArrayTickEngine}.
+ * The {@code hashlife} engine is left out, as its unbounded universe differs from both topologies at the edges,
+ * it is checked away from the edges by {@link HashLifeEngineTest}.
+ *
+ * @author Jan Gajda
+ */
+public class TickEnginesTest {
+    private static final int SIZE = 150;
+    /**
+     * Size wide enough for rows of two vectors of 8 words, plus the words left over at the edges.
+     */
+    private static final int WIDE_SIZE = 1100;
+    private static final int GENERATIONS = 60;
+
+    @Test
+    public void bitEnginesMatchArrayEngineOnDeadBoard() {
+        checkAll(Topology.DEAD);
+    }
+
+    @Test
+    public void bitEnginesMatchArrayEngineOnToroidalBoard() {
+        checkAll(Topology.TOROIDAL);
+    }
+
+    @Test
+    public void lookupEngineMatchesArrayEngineOnOtherRule() {
+        Rule highLife = Rule.parse("B36/S23");
+        check("lookup", SIZE, Topology.TOROIDAL, highLife);
+    }
+
+    @Test
+    public void vectorEngineMatchesArrayEngineOnWideBoard() {
+        //Set by the build when the Vector API kernel is compiled and its module added to the test JVM
+        if (Boolean.getBoolean("vectorApi")) {
+            VectorTickEngine engine = new VectorTickEngine(WIDE_SIZE, WIDE_SIZE, Topology.DEAD);
+            assertNotEquals("scalar", engine.getKernelName());
+        }
+        check("vector", WIDE_SIZE, Topology.DEAD, Rule.CONWAY);
+        check("vector", WIDE_SIZE, Topology.TOROIDAL, Rule.CONWAY);
+    }
+
+    /**
+     * Checks all the bounded engines following {@link Rule#CONWAY}.
+     *
+     * @param topology what lies beyond the edges of the game board.
+     */
+    private static void checkAll(Topology topology) {
+        for (String name : TickEngines.NAMES) {
+            if (!name.equals("array") && !name.equals("hashlife")) {
+                check(name, SIZE, topology, Rule.CONWAY);
+            }
+        }
+    }
+
+    /**
+     * Runs an engine side by side with the reference engine from the same random pattern, comparing every cell
+     * of every generation.
+     *
+     * @param name     name of the engine.
+     * @param size     number of rows and columns of the game board.
+     * @param topology what lies beyond the edges of the game board.
+     * @param rule     rule of the automaton.
+     */
+    private static void check(String name, int size, Topology topology, Rule rule) {
+        TickEngine reference = TickEngines.create("array", size, size, topology, 1, rule);
+        TickEngine engine = TickEngines.create(name, size, size, topology, 3, rule);
+        try {
+            Patterns.random(reference, new Random(7));
+            Patterns.random(engine, new Random(7));
+            for (int generation = 0; generation <= GENERATIONS; generation++) {
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        assertEquals(name + " generation " + generation + " cell " + row + ", " + col,
+                                reference.getState(row, col), engine.getState(row, col));
+                    }
+                }
+                reference.tick();
+                engine.tick();
+            }
+        } finally {
+            if (engine instanceof ParallelTickEngine) {
+                ((ParallelTickEngine) engine).close();
+            }
+        }
+    }
+}
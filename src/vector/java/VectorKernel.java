@@ -0,0 +1,122 @@
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>
+ * Kernel of {@link VectorTickEngine} built on the {@code jdk.incubator.vector} API, which needs the JVM to be
+ * started with {@code --add-modules jdk.incubator.vector}.
+ * </p>
+ * <p>
+ * Every word of a row is loaded together with its western and eastern neighbour words by unaligned loads at
+ * the offsets {@code -1} and {@code +1}, so a whole vector of words gets its neighbours lined up by lane-wise
+ * shifts only. The first and the last word of each row, the first and the last row, and the words left over
+ * by the vectors are computed by the scalar kernel of {@link BitTickEngine}, which takes care of the
+ * {@link Topology}. So are the game boards kept off-heap.
+ * </p>
+ *
+ * @author Jan Gajda
+ */
+final class VectorKernel implements VectorTickEngine.Kernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void computeRows(BitBoard src, BitBoard dst, Topology topology, int fromRow, int toRow) {
+        int rows = src.getRows();
+        int words = src.getWordsPerRow();
+        long[] in = src.getWords();
+        long[] out = dst.getWords();
+        if (in == null || out == null) {
+            //Boards kept off-heap are not backed by arrays
+            BitTickEngine.computeRows(src, dst, topology, fromRow, toRow);
+            return;
+        }
+        //The words from 1 to words - 2 have both neighbour words within the row
+        int vectorEnd = 1 + SPECIES.loopBound(Math.max(words - 2, 0));
+        for (int row = fromRow; row < toRow; row++) {
+            if (row == 0 || row == rows - 1 || words < 3) {
+                BitTickEngine.computeRows(src, dst, topology, row, row + 1);
+                continue;
+            }
+            int current = row * words;
+            int above = current - words;
+            int below = current + words;
+            out[current] = BitTickEngine.computeWord(src, topology, row, 0);
+            for (int word = 1; word < vectorEnd; word += SPECIES.length()) {
+                evolve(in, above + word, current + word, below + word).intoArray(out, current + word);
+            }
+            for (int word = vectorEnd; word < words; word++) {
+                out[current + word] = BitTickEngine.computeWord(src, topology, row, word);
+            }
+        }
+    }
+
+    /**
+     * Applies the rules of the "Game Of Life" to the cells of a vector of words.
+     *
+     * @param in      words of the game board.
+     * @param above   index of the first word of the vector in the row above.
+     * @param current index of the first word of the vector.
+     * @param below   index of the first word of the vector in the row below.
+     * @return next state of the cells of the vector of words.
+     */
+    private static LongVector evolve(long[] in, int above, int current, int below) {
+        LongVector north = LongVector.fromArray(SPECIES, in, above);
+        LongVector northWest = west(north, LongVector.fromArray(SPECIES, in, above - 1));
+        LongVector northEast = east(north, LongVector.fromArray(SPECIES, in, above + 1));
+        LongVector center = LongVector.fromArray(SPECIES, in, current);
+        LongVector west = west(center, LongVector.fromArray(SPECIES, in, current - 1));
+        LongVector east = east(center, LongVector.fromArray(SPECIES, in, current + 1));
+        LongVector south = LongVector.fromArray(SPECIES, in, below);
+        LongVector southWest = west(south, LongVector.fromArray(SPECIES, in, below - 1));
+        LongVector southEast = east(south, LongVector.fromArray(SPECIES, in, below + 1));
+
+        //The same full adders as in BitTickEngine.evolve, lane by lane
+        LongVector aboveXor = northWest.lanewise(VectorOperators.XOR, north);
+        LongVector above0 = aboveXor.lanewise(VectorOperators.XOR, northEast);
+        LongVector above1 = northWest.and(north).or(aboveXor.and(northEast));
+        LongVector middle0 = west.lanewise(VectorOperators.XOR, east);
+        LongVector middle1 = west.and(east);
+        LongVector belowXor = southWest.lanewise(VectorOperators.XOR, south);
+        LongVector below0 = belowXor.lanewise(VectorOperators.XOR, southEast);
+        LongVector below1 = southWest.and(south).or(belowXor.and(southEast));
+
+        LongVector onesXor = above0.lanewise(VectorOperators.XOR, middle0);
+        LongVector ones = onesXor.lanewise(VectorOperators.XOR, below0);
+        LongVector onesCarry = above0.and(middle0).or(onesXor.and(below0));
+        LongVector twosXor = above1.lanewise(VectorOperators.XOR, middle1);
+        LongVector twosSum = twosXor.lanewise(VectorOperators.XOR, below1);
+        LongVector twosCarry = above1.and(middle1).or(twosXor.and(below1));
+        LongVector twos = twosSum.lanewise(VectorOperators.XOR, onesCarry);
+        LongVector fourOrMore = twosCarry.or(twosSum.and(onesCarry));
+
+        return twos.and(fourOrMore.not()).and(ones.or(center));
+    }
+
+    /**
+     * Lines up the western neighbours of the cells of a vector of words.
+     *
+     * @param words    target words.
+     * @param previous words preceding the target words in the same row.
+     * @return words with the western neighbour of each cell at the cell's position.
+     */
+    private static LongVector west(LongVector words, LongVector previous) {
+        return words.lanewise(VectorOperators.LSHL, 1).or(previous.lanewise(VectorOperators.LSHR, 63));
+    }
+
+    /**
+     * Lines up the eastern neighbours of the cells of a vector of words.
+     *
+     * @param words target words.
+     * @param next  words following the target words in the same row.
+     * @return words with the eastern neighbour of each cell at the cell's position.
+     */
+    private static LongVector east(LongVector words, LongVector next) {
+        return words.lanewise(VectorOperators.LSHR, 1).or(next.lanewise(VectorOperators.LSHL, 63));
+    }
+
+    @Override
+    public String toString() {
+        return "LongVector x " + SPECIES.length();
+    }
+}